@@ -0,0 +1,79 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.util.TokenBucketRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the endpoints that run BCrypt with a token bucket per client address.
+ * Each client may burst {@code auth.rate-limit.capacity} requests and then gets
+ * {@code auth.rate-limit.refill-per-minute} more per minute; anything beyond that is answered 429 before any work.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final List<String> THROTTLED_URLS = List.of(
+            "/api/auth/login",
+            "/api/auth/signup",
+            "/api/auth/profile",
+            "/api/admin/users/create-admin"
+    );
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.capacity:10}")
+    private int capacity;
+
+    @Value("${auth.rate-limit.refill-per-minute:10}")
+    private int refillPerMinute;
+
+    @Value("${auth.rate-limit.max-clients:100000}")
+    private int maxClients;
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucketRateLimiter(capacity, refillPerMinute / 60d, maxClients);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "GET".equals(request.getMethod()) || "OPTIONS".equals(request.getMethod())
+                || !THROTTLED_URLS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Too many attempts, please retry later.\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    public int getTrackedClients() {
+        return rateLimiter.size();
+    }
+}
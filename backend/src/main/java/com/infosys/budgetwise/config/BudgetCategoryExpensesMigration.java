@@ -0,0 +1,128 @@
+package com.infosys.budgetwise.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.budgetwise.util.JsonColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves category amounts from the legacy {@code budget_category_expenses} collection table into the
+ * {@code budgets.category_expenses} JSON column. Each chunk of budgets is copied and its legacy rows deleted in one
+ * transaction, so the migration can be interrupted and simply runs again on the next start. Budgets without any
+ * category rows get an empty object.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BudgetCategoryExpensesMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetCategoryExpensesMigration.class);
+
+    static final String LEGACY_TABLE = "budget_category_expenses";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${budgets.category-expenses.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${budgets.category-expenses.migration.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        String placeholder = JsonColumns.placeholder(jdbcTemplate);
+        if (legacyTableExists()) {
+            migrateLegacyRows(placeholder);
+        }
+        int backfilled = jdbcTemplate.update("UPDATE budgets SET category_expenses = " + placeholder
+                + " WHERE category_expenses IS NULL", "{}");
+        if (backfilled > 0) {
+            logger.info("Initialised category expenses of {} budgets without categories", backfilled);
+        }
+    }
+
+    private void migrateLegacyRows(String placeholder) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long migrated = 0;
+        while (true) {
+            List<Long> budgetIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT budget_id FROM " + LEGACY_TABLE + " ORDER BY budget_id LIMIT ?", Long.class, chunkSize);
+            if (budgetIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> migrateChunk(budgetIds, placeholder));
+            migrated += budgetIds.size();
+        }
+        if (migrated > 0) {
+            logger.info("Migrated category expenses of {} budgets to the JSON column; {} can now be dropped", migrated, LEGACY_TABLE);
+        }
+    }
+
+    private void migrateChunk(List<Long> budgetIds, String placeholder) {
+        long first = budgetIds.get(0);
+        long last = budgetIds.get(budgetIds.size() - 1);
+        Map<Long, Map<String, BigDecimal>> expenses = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT budget_id, category, amount FROM " + LEGACY_TABLE
+                        + " WHERE budget_id BETWEEN ? AND ? ORDER BY budget_id, category",
+                (ResultSet rs) -> {
+                    expenses.computeIfAbsent(rs.getLong(1), id -> new LinkedHashMap<>())
+                            .put(rs.getString(2), rs.getBigDecimal(3));
+                }, first, last);
+
+        List<Object[]> updates = new ArrayList<>(expenses.size());
+        for (Map.Entry<Long, Map<String, BigDecimal>> entry : expenses.entrySet()) {
+            updates.add(new Object[]{toJson(entry.getValue()), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE budgets SET category_expenses = " + placeholder + " WHERE id = ?", updates);
+        jdbcTemplate.update("DELETE FROM " + LEGACY_TABLE + " WHERE budget_id BETWEEN ? AND ?", first, last);
+    }
+
+    private String toJson(Map<String, BigDecimal> categoryExpenses) {
+        try {
+            return objectMapper.writeValueAsString(categoryExpenses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise category expenses", e);
+        }
+    }
+
+    private boolean legacyTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            for (String name : new String[]{LEGACY_TABLE, LEGACY_TABLE.toUpperCase()}) {
+                try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,27 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.service.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Stores a category name as its dictionary id. Instantiated by Spring through Hibernate's bean container,
+ * so the dictionary can be injected.
+ */
+@Converter
+public class CategoryIdAttributeConverter implements AttributeConverter<String, Integer> {
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String attribute) {
+        return categoryDictionary.idFor(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer dbData) {
+        return categoryDictionary.nameOf(dbData);
+    }
+}
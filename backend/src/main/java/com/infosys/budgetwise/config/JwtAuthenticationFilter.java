@@ -1,15 +1,20 @@
 package com.infosys.budgetwise.config;
 
+import com.infosys.budgetwise.model.JwtUserPrincipal;
 import com.infosys.budgetwise.service.CustomUserDetailsService;
+import com.infosys.budgetwise.service.TokenRevocationService;
 import com.infosys.budgetwise.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -27,10 +32,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // When enabled, the principal is built from the token claims instead of being loaded from the database
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
     // Define public URLs that should not be filtered
     private static final List<String> PUBLIC_URLS = Arrays.asList(
             "/api/auth/login",
-            "/api/auth/signup"
+            "/api/auth/signup",
+            "/api/auth/refresh",
+            "/api/auth/logout"
     );
 
     @Override
@@ -44,18 +58,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            // Signature and expiry are verified here, once per request
+            claims = jwtUtil.parseToken(authorizationHeader.substring(7));
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolveUserDetails(claims);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
@@ -65,4 +78,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails resolveUserDetails(Claims claims) {
+        Object userId = claims.get(JwtUtil.USER_ID_CLAIM);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+
+        // Tokens issued before the uid claim existed fall back to the database lookup
+        if (stateless && userId instanceof Number number && role != null) {
+            if (tokenRevocationService.isRevoked(number.longValue())) {
+                return null;
+            }
+            return new JwtUserPrincipal(number.longValue(), claims.getSubject(), role);
+        }
+
+        try {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+}
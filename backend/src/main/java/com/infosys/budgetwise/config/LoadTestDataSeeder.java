@@ -0,0 +1,157 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.CategoryDictionary;
+import com.infosys.budgetwise.service.TransactionRollupService;
+import com.infosys.budgetwise.util.JsonColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the embedded database of the loadtest profile with users, budgets and transactions.
+ * Users are named loadtest-user-{n}@example.com and share the password {@code loadtest.password}.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    public static final String EMAIL_PATTERN = "loadtest-user-%d@example.com";
+    public static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Utilities", "Shopping", "Health", "Education", "Fun"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Value("${loadtest.users:200}")
+    private int users;
+
+    @Value("${loadtest.transactions-per-user:500}")
+    private int transactionsPerUser;
+
+    @Value("${loadtest.budget-months:12}")
+    private int budgetMonths;
+
+    @Value("${loadtest.password:loadtest-password}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByEmail(String.format(EMAIL_PATTERN, 0))) {
+            logger.info("Load test data already present, skipping seeding");
+            return;
+        }
+        long started = System.currentTimeMillis();
+
+        // BCrypt is deliberately slow, so hash the shared password once
+        String passwordHash = passwordEncoder.encode(password);
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"Load Test User " + i, String.format(EMAIL_PATTERN, i), passwordHash, "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)", userRows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setString(3, (String) row[2]);
+                    ps.setString(4, (String) row[3]);
+                });
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'loadtest-user-%' ORDER BY id", Long.class);
+
+        seedBudgets(userIds);
+        seedTransactions(userIds);
+        for (Long userId : userIds) {
+            User user = new User();
+            user.setId(userId);
+            transactionRollupService.rebuild(user);
+        }
+
+        logger.info("Seeded {} users, {} transactions and {} budgets in {} ms", userIds.size(),
+                (long) userIds.size() * transactionsPerUser, (long) userIds.size() * budgetMonths,
+                System.currentTimeMillis() - started);
+    }
+
+    private void seedBudgets(List<Long> userIds) {
+        YearMonth current = YearMonth.now();
+        List<Object[]> budgetRows = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (int month = 0; month < budgetMonths; month++) {
+                budgetRows.add(new Object[]{userId, current.minusMonths(month).toString()});
+            }
+        }
+        StringBuilder categoryExpenses = new StringBuilder("{");
+        for (String category : CATEGORIES) {
+            if (categoryExpenses.length() > 1) {
+                categoryExpenses.append(',');
+            }
+            categoryExpenses.append('"').append(category).append("\":500.00");
+        }
+        String categoryJson = categoryExpenses.append('}').toString();
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (user_id, period, monthly_income, saving_goal, target_expenses, category_expenses) "
+                        + "VALUES (?, ?, 5000.00, 1000.00, 4000.00, " + JsonColumns.placeholder(jdbcTemplate) + ")",
+                budgetRows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setString(3, categoryJson);
+                });
+    }
+
+    private void seedTransactions(List<Long> userIds) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        int days = Math.max(1, budgetMonths * 30);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (Long userId : userIds) {
+            for (int i = 0; i < transactionsPerUser; i++) {
+                boolean income = i % 20 == 0;
+                batch.add(new Object[]{userId, (income ? "Salary " : "Purchase ") + i,
+                        BigDecimal.valueOf(100 + random.nextInt(20_000), 2),
+                        categoryDictionary.idFor(CATEGORIES[random.nextInt(CATEGORIES.length)]),
+                        Date.valueOf(today.minusDays(random.nextInt(days))),
+                        income ? "INCOME" : "EXPENSE"});
+                if (batch.size() == BATCH_SIZE) {
+                    insertTransactions(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTransactions(batch);
+        }
+    }
+
+    private void insertTransactions(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (user_id, description, amount, category_id, date, type) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
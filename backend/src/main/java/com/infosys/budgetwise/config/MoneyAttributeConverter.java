@@ -0,0 +1,26 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.model.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return attribute.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return Money.of(dbData);
+    }
+}
@@ -0,0 +1,98 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.model.JwtUserPrincipal;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.service.DataVersionService;
+import com.infosys.budgetwise.service.ReplicaLagMonitor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses the pool each physical connection comes from. Connections of read-only transactions come from the replica,
+ * everything else, including work outside a transaction, from the primary. A read-only transaction still goes to
+ * the primary while the replica lags beyond the tolerance, and while the current user has written within the
+ * read-your-writes window, so a user always sees their own changes.
+ * <p>
+ * The decision is made when the connection is first used, which relies on the {@code LazyConnectionDataSourceProxy}
+ * in front: the transaction manager asks for a connection before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final DataVersionService dataVersionService;
+    private final long readYourWritesMillis;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder lagFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    DataVersionService dataVersionService, long readYourWritesMillis) {
+        this.lagMonitor = lagMonitor;
+        this.dataVersionService = dataVersionService;
+        // A window shorter than the tolerated lag would let a user read from a replica that misses their write
+        this.readYourWritesMillis = Math.max(readYourWritesMillis, lagMonitor.getMaxLagMillis());
+        setTargetDataSources(Map.<Object, Object>of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        (route == Route.REPLICA ? replicaConnections : primaryConnections).increment();
+        return route;
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && System.currentTimeMillis() - dataVersionService.lastWriteMillis(userId) < readYourWritesMillis) {
+            stickyReads.increment();
+            return Route.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbacks.increment();
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtUserPrincipal jwtPrincipal) {
+            return jwtPrincipal.getId();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mode", "replica");
+        status.put("readYourWritesMillis", readYourWritesMillis);
+        status.put("primaryConnections", primaryConnections.sum());
+        status.put("replicaConnections", replicaConnections.sum());
+        status.put("stickyReads", stickyReads.sum());
+        status.put("lagFallbacks", lagFallbacks.sum());
+        status.putAll(lagMonitor.getStatus());
+        return status;
+    }
+}
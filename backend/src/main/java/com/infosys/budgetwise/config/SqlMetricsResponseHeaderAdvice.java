@@ -0,0 +1,37 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.util.SqlStatementCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@code X-SQL-Statements} and {@code X-SQL-Rows} to API responses, counted up to the moment the body is
+ * written. Meant for development and load tests, so it is off unless {@code app.sql-metrics.response-header} is set.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.sql-metrics.response-header", havingValue = "true")
+public class SqlMetricsResponseHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        if (counts != null) {
+            response.getHeaders().set("X-SQL-Statements", String.valueOf(counts.getStatements()));
+            response.getHeaders().set("X-SQL-Rows", String.valueOf(counts.getRows()));
+        }
+        return body;
+    }
+}
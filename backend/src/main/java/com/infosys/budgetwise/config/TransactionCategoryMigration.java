@@ -0,0 +1,138 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.service.CategoryDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+
+/**
+ * Moves transactions from the legacy free-text {@code transactions.category} column to {@code category_id}, a
+ * reference into the {@code categories} dictionary. Every distinct name is added to the dictionary in one statement,
+ * then rows are updated in id ranges that each commit on their own; only rows still without an id are touched,
+ * so an interrupted migration simply continues on the next start, as do rows written meanwhile by instances still
+ * running the old version. The legacy column is kept by default; dropping it is a separate, explicit step
+ * ({@code transactions.category.migration.drop-legacy-column=true}) once no old instance is left, and only happens
+ * when every row has been moved. The dictionary is loaded into memory afterwards.
+ * <p>
+ * On MySQL, {@code categories.name} is first switched to the binary {@value #BINARY_COLLATION} collation: under the
+ * default case- and accent-insensitive one, "food" would resolve to whichever spelling was stored first, and one
+ * user would read back another user's text.
+ * <p>
+ * Runs once all beans are created but before the web server starts, so no request reads or writes transactions
+ * while the legacy column is still in use.
+ */
+@Component
+public class TransactionCategoryMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionCategoryMigration.class);
+
+    static final String LEGACY_COLUMN = "category";
+
+    static final String BINARY_COLLATION = "utf8mb4_bin";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Value("${transactions.category.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transactions.category.migration.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${transactions.category.migration.drop-legacy-column:false}")
+    private boolean dropLegacyColumn;
+
+    private boolean done;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureMigrated();
+    }
+
+    /**
+     * Runs the migration unless this instance already has. Startup steps that read transactions by category id,
+     * such as {@link TransactionRollupBackfill}, call this first, since the order of startup callbacks is not defined.
+     */
+    public synchronized void ensureMigrated() {
+        if (done) {
+            return;
+        }
+        boolean mysql = "MySQL".equalsIgnoreCase(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+        if (mysql) {
+            useBinaryCollation();
+        }
+        if (enabled && legacyColumnExists()) {
+            // The legacy column keeps the default collation; compare and group its names by their exact spelling
+            migrate(mysql ? "t.category COLLATE " + BINARY_COLLATION : "t.category");
+        }
+        categoryDictionary.preload();
+        done = true;
+    }
+
+    private void useBinaryCollation() {
+        String collation = jdbcTemplate.queryForObject("SELECT COLLATION_NAME FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'categories' AND COLUMN_NAME = 'name'", String.class);
+        if (!BINARY_COLLATION.equalsIgnoreCase(collation)) {
+            jdbcTemplate.execute("ALTER TABLE categories MODIFY name VARCHAR(255) CHARACTER SET utf8mb4 COLLATE "
+                    + BINARY_COLLATION + " NOT NULL");
+            logger.info("Switched categories.name from {} to {}", collation, BINARY_COLLATION);
+        }
+    }
+
+    private void migrate(String legacyName) {
+        int added = jdbcTemplate.update("INSERT INTO categories (name) SELECT DISTINCT " + legacyName + " FROM transactions t "
+                + "WHERE t.category IS NOT NULL AND NOT EXISTS (SELECT 1 FROM categories c WHERE c.name = " + legacyName + ")");
+
+        Long first = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM transactions WHERE category IS NOT NULL AND category_id IS NULL", Long.class);
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM transactions WHERE category IS NOT NULL AND category_id IS NULL", Long.class);
+        long migrated = 0;
+        if (first != null) {
+            for (long from = first; from <= last; from += chunkSize) {
+                migrated += jdbcTemplate.update("UPDATE transactions t "
+                        + "SET category_id = (SELECT c.id FROM categories c WHERE c.name = " + legacyName + ") "
+                        + "WHERE t.id BETWEEN ? AND ? AND t.category IS NOT NULL AND t.category_id IS NULL",
+                        from, from + chunkSize - 1);
+            }
+        }
+        logger.info("Moved {} transactions to category ids; {} new categories", migrated, added);
+
+        if (dropLegacyColumn) {
+            Long remaining = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE category IS NOT NULL AND category_id IS NULL", Long.class);
+            if (remaining != null && remaining == 0) {
+                jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN " + LEGACY_COLUMN);
+                logger.info("Dropped the legacy transactions.{} column", LEGACY_COLUMN);
+            } else {
+                logger.warn("{} transactions still have no category id; keeping the legacy column", remaining);
+            }
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            for (String table : new String[]{"transactions", "TRANSACTIONS"}) {
+                for (String column : new String[]{LEGACY_COLUMN, LEGACY_COLUMN.toUpperCase()}) {
+                    try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+                        if (columns.next()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,76 @@
+package com.infosys.budgetwise.config;
+
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TransactionRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills the monthly rollups of users whose transactions predate them. Writes only keep existing rollups in step, so
+ * without this the summary, the admin transaction counts and the advisor insights would report nothing for the
+ * history recorded before rollups existed.
+ * <p>
+ * Runs before the web server starts, after the category migration, since rollups are grouped by category id. Each
+ * user with transactions but no rollup at all is rebuilt in a transaction of its own, so an interrupted backfill
+ * simply continues on the next start, and a completed one costs an index probe per user. Drift in users that do have
+ * rollups is repaired with {@code POST /api/admin/rollups/rebuild}.
+ */
+@Component
+public class TransactionRollupBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private TransactionCategoryMigration transactionCategoryMigration;
+
+    @Value("${transactions.rollups.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transactions.rollups.backfill.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        transactionCategoryMigration.ensureMigrated();
+
+        long cursor = 0;
+        long users = 0;
+        long rollups = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList("SELECT u.id FROM users u WHERE u.id > ? "
+                    + "AND EXISTS (SELECT 1 FROM transactions t WHERE t.user_id = u.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM transaction_rollups r WHERE r.user_id = u.id) "
+                    + "ORDER BY u.id LIMIT ?", Long.class, cursor, chunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            for (Long userId : userIds) {
+                rollups += userRepository.findById(userId).map(transactionRollupService::rebuild).orElse(0);
+                users++;
+            }
+            cursor = userIds.get(userIds.size() - 1);
+        }
+        if (users > 0) {
+            logger.info("Backfilled {} rollups of {} users", rollups, users);
+        }
+    }
+}
@@ -1,16 +1,39 @@
 package com.infosys.budgetwise.controller;
 
+import com.infosys.budgetwise.config.ReplicaRoutingDataSource;
+import com.infosys.budgetwise.model.CategoryRule;
 import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.AdminUserSummary;
 import com.infosys.budgetwise.payload.AuthRequest;
+import com.infosys.budgetwise.payload.CategoryRuleRequest;
+import com.infosys.budgetwise.payload.PurgeJob;
 import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.AdvisorBatchService;
+import com.infosys.budgetwise.service.AuthenticationBusyException;
+import com.infosys.budgetwise.service.CategoryDictionary;
+import com.infosys.budgetwise.service.CategoryRuleService;
+import com.infosys.budgetwise.service.PasswordHashingService;
+import com.infosys.budgetwise.service.TransactionJournalService;
+import com.infosys.budgetwise.service.TransactionRollupService;
+import com.infosys.budgetwise.service.TransactionSearchService;
+import com.infosys.budgetwise.service.UserCacheService;
+import com.infosys.budgetwise.service.UserPurgeService;
+import com.infosys.budgetwise.service.VirtualThreadPinningMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -21,23 +44,185 @@ public class AdminController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired(required = false)
+    private TransactionJournalService transactionJournalService;
+
+    @Autowired
+    private AdvisorBatchService advisorBatchService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    // Present only with app.datasource.replica.enabled=true
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private static final Set<String> USER_SORT_PROPERTIES = Set.of("id", "name", "email", "role");
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllUsers(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!USER_SORT_PROPERTIES.contains(order.getProperty())) {
+                return new ResponseEntity<>(Collections.singletonMap("message", "Cannot sort users by " + order.getProperty()), HttpStatus.BAD_REQUEST);
+            }
+        }
+        Page<AdminUserSummary> users = userRepository.findAdminSummaries(pageable);
         return ResponseEntity.ok(users);
     }
 
     @DeleteMapping("/users/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-            return ResponseEntity.ok(Collections.singletonMap("message", "User deleted successfully!"));
+            PurgeJob job = userPurgeService.submit(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "message", "User deletion started.",
+                    "jobId", job.getJobId(),
+                    "status", job.getStatus()));
         }
         return new ResponseEntity<>(Collections.singletonMap("message", "User not found!"), HttpStatus.NOT_FOUND);
     }
 
+    @GetMapping("/purge-jobs/{jobId}")
+    public ResponseEntity<?> getPurgeJob(@PathVariable String jobId) {
+        return userPurgeService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>(Collections.singletonMap("message", "Purge job not found!"), HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    @PostMapping("/advisor/run")
+    public ResponseEntity<?> runAdvisorBatch() {
+        if (!advisorBatchService.startAsync()) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Advisor batch is already running."), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Collections.singletonMap("message", "Advisor batch started."));
+    }
+
+    @GetMapping("/advisor/status")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAdvisorBatchStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", advisorBatchService.isRunning());
+        status.put("lastRun", advisorBatchService.getLastRun().orElse(null));
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/category-rules")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CategoryRule>> getGlobalCategoryRules() {
+        return ResponseEntity.ok(categoryRuleService.findGlobal());
+    }
+
+    @PostMapping("/category-rules")
+    public ResponseEntity<?> createGlobalCategoryRule(@RequestBody CategoryRuleRequest request) {
+        try {
+            return new ResponseEntity<>(categoryRuleService.create(null, request), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PutMapping("/category-rules/{id}")
+    public ResponseEntity<?> updateGlobalCategoryRule(@PathVariable Long id, @RequestBody CategoryRuleRequest request) {
+        try {
+            return categoryRuleService.update(null, id, request)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/category-rules/{id}")
+    public ResponseEntity<Void> deleteGlobalCategoryRule(@PathVariable Long id) {
+        return new ResponseEntity<>(categoryRuleService.delete(null, id) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/category-rules/stats")
+    public ResponseEntity<Map<String, Object>> getCategoryRuleStats() {
+        return ResponseEntity.ok(categoryRuleService.getStats());
+    }
+
+    @GetMapping("/journal")
+    public ResponseEntity<?> getJournalStatus() {
+        if (transactionJournalService == null) {
+            return ResponseEntity.ok(Collections.singletonMap("mode", "direct"));
+        }
+        return ResponseEntity.ok(transactionJournalService.getStatus());
+    }
+
+    @GetMapping("/datasource")
+    public ResponseEntity<?> getDataSourceRouting() {
+        if (replicaRoutingDataSource == null) {
+            return ResponseEntity.ok(Collections.singletonMap("mode", "primary"));
+        }
+        return ResponseEntity.ok(replicaRoutingDataSource.getStatus());
+    }
+
+    @GetMapping("/cache/users")
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        return ResponseEntity.ok(userCacheService.getStats());
+    }
+
+    @GetMapping("/cache/search")
+    public ResponseEntity<Map<String, Object>> getSearchIndexStats() {
+        return ResponseEntity.ok(transactionSearchService.getStats());
+    }
+
+    @GetMapping("/cache/categories")
+    public ResponseEntity<Map<String, Object>> getCategoryDictionaryStats() {
+        return ResponseEntity.ok(categoryDictionary.getStats());
+    }
+
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<Map<String, Object>> getVirtualThreadStatus() {
+        return ResponseEntity.ok(virtualThreadPinningMonitor.getStatus());
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups(@RequestParam(required = false) Long userId) {
+        List<User> users;
+        if (userId != null) {
+            users = userRepository.findById(userId).map(List::of).orElse(List.of());
+            if (users.isEmpty()) {
+                return new ResponseEntity<>(Collections.singletonMap("message", "User not found!"), HttpStatus.NOT_FOUND);
+            }
+        } else {
+            users = userRepository.findAll();
+        }
+
+        int rollupsWritten = 0;
+        for (User user : users) {
+            rollupsWritten += transactionRollupService.rebuild(user);
+        }
+        return ResponseEntity.ok(Map.of("usersRebuilt", users.size(), "rollupsWritten", rollupsWritten));
+    }
+
     @PostMapping("/users/create-admin")
     public ResponseEntity<?> createAdminUser(@RequestBody AuthRequest authRequest) {
         try {
@@ -48,12 +233,14 @@ public class AdminController {
             User user = new User();
             user.setName(authRequest.getName());
             user.setEmail(authRequest.getEmail());
-            user.setPassword(passwordEncoder.encode(authRequest.getPassword()));
+            user.setPassword(passwordHashingService.encode(authRequest.getPassword()));
             user.setRole("ADMIN"); // Manually setting the role to ADMIN
 
             userRepository.save(user);
 
             return new ResponseEntity<>(Collections.singletonMap("message", "Admin user created successfully!"), HttpStatus.OK);
+        } catch (AuthenticationBusyException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
         } catch (Exception e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "Admin creation failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -2,19 +2,21 @@ package com.infosys.budgetwise.controller;
 
 import com.infosys.budgetwise.model.User;
 import com.infosys.budgetwise.payload.AuthRequest;
+import com.infosys.budgetwise.payload.RefreshTokenRequest;
 import com.infosys.budgetwise.repository.UserRepository;
-import com.infosys.budgetwise.service.CustomUserDetailsService;
+import com.infosys.budgetwise.service.AuthenticationBusyException;
+import com.infosys.budgetwise.service.DataVersionService;
+import com.infosys.budgetwise.service.PasswordHashingService;
+import com.infosys.budgetwise.service.RefreshTokenService;
+import com.infosys.budgetwise.service.UserCacheService;
 import com.infosys.budgetwise.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -29,16 +31,19 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private DataVersionService dataVersionService;
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody AuthRequest authRequest) {
@@ -50,12 +55,14 @@ public class AuthController {
             User user = new User();
             user.setName(authRequest.getName());
             user.setEmail(authRequest.getEmail());
-            user.setPassword(passwordEncoder.encode(authRequest.getPassword()));
+            user.setPassword(passwordHashingService.encode(authRequest.getPassword()));
             user.setRole(authRequest.getRole() != null ? authRequest.getRole() : "USER");
 
             userRepository.save(user);
 
             return new ResponseEntity<>(Collections.singletonMap("message", "User registered successfully!"), HttpStatus.OK);
+        } catch (AuthenticationBusyException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
         } catch (Exception e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "Registration failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -64,12 +71,12 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest authRequest) {
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
-            );
-
-            User user = userRepository.findByEmail(authRequest.getEmail())
+            // One user lookup and one BCrypt check; the loaded user also supplies the token claims
+            User user = userCacheService.findByEmail(authRequest.getEmail())
                     .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + authRequest.getEmail()));
+            if (authRequest.getPassword() == null || !passwordHashingService.matches(authRequest.getPassword(), user.getPassword())) {
+                throw new BadCredentialsException("Invalid credentials");
+            }
             
             // NEW CHECK: Verify if the requested role matches the user's actual role
             if (authRequest.getRole() != null && !authRequest.getRole().equals(user.getRole())) {
@@ -87,30 +94,61 @@ public class AuthController {
                 return new ResponseEntity<>(Collections.singletonMap("message", message), HttpStatus.FORBIDDEN);
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getEmail());
-            String token = jwtUtil.generateToken(userDetails);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
-            response.put("email", user.getEmail());
-            response.put("name", user.getName());
-            response.put("role", user.getRole());
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(tokenResponse(user, refreshTokenService.issue(user)));
 
         } catch (UsernameNotFoundException e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "User not found!"), HttpStatus.UNAUTHORIZED);
         } catch (BadCredentialsException e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "Invalid credentials!"), HttpStatus.UNAUTHORIZED);
+        } catch (AuthenticationBusyException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
         } catch (Exception e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "Login failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        if (request.getRefreshToken() == null || request.getRefreshToken().isEmpty()) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Refresh token is required!"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(tokenResponse(rotation.user(), rotation.refreshToken()));
+        } catch (BadCredentialsException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Token refresh failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody RefreshTokenRequest request) {
+        if (request.getRefreshToken() != null && !request.getRefreshToken().isEmpty()) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(Collections.singletonMap("message", "Logged out successfully!"));
+    }
+
+    private Map<String, Object> tokenResponse(User user, String refreshToken) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtUtil.generateToken(user));
+        response.put("refreshToken", refreshToken);
+        response.put("expiresIn", jwtUtil.getExpiration() / 1000);
+        response.put("email", user.getEmail());
+        response.put("name", user.getName());
+        response.put("role", user.getRole());
+        return response;
+    }
+
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(@AuthenticationPrincipal UserDetails userDetails, @RequestBody AuthRequest authRequest) {
         try {
-            User user = userRepository.findByEmail(userDetails.getUsername())
+            // Load a fresh copy rather than the shared cached instance, since it is modified below
+            Long userId = userCacheService.findByPrincipal(userDetails)
+                    .map(User::getId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found!"));
+            User user = userRepository.findById(userId)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found!"));
 
             if (authRequest.getName() != null && !authRequest.getName().isEmpty()) {
@@ -124,15 +162,27 @@ public class AuthController {
                 user.setEmail(authRequest.getEmail());
             }
 
+            boolean passwordChanged = false;
             if (authRequest.getPassword() != null && !authRequest.getPassword().isEmpty()) {
-                user.setPassword(passwordEncoder.encode(authRequest.getPassword()));
+                user.setPassword(passwordHashingService.encode(authRequest.getPassword()));
+                passwordChanged = true;
             }
 
             userRepository.save(user);
+            if (passwordChanged) {
+                // Sessions started with the old password must log in again once their access token expires
+                refreshTokenService.revokeAll(user);
+            }
+            // Keeps this user's reads on the primary until the replica has the new row, so it is not cached again stale
+            dataVersionService.written(user.getId());
+            // Drops the entry under the old email as well as the new one
+            userCacheService.invalidate(user);
 
             return ResponseEntity.ok(Collections.singletonMap("message", "Profile updated successfully!"));
         } catch (UsernameNotFoundException e) {
             return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.UNAUTHORIZED);
+        } catch (AuthenticationBusyException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
         } catch (Exception e) {
             return new ResponseEntity<>(Collections.singletonMap("message", "Profile update failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         }
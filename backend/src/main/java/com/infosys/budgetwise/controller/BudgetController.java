@@ -1,25 +1,36 @@
 package com.infosys.budgetwise.controller;
 
+import com.infosys.budgetwise.model.AdvisorInsight;
 import com.infosys.budgetwise.model.Budget;
+import com.infosys.budgetwise.model.Money;
 import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.BudgetHistoryEntry;
 import com.infosys.budgetwise.payload.BudgetRequest;
+import com.infosys.budgetwise.payload.BudgetVsActual;
+import com.infosys.budgetwise.repository.AdvisorInsightRepository;
 import com.infosys.budgetwise.repository.BudgetRepository;
-import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.BudgetAnalysisService;
+import com.infosys.budgetwise.service.DataVersionService;
+import com.infosys.budgetwise.service.UserCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
-import java.util.HashMap;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/budgets")
@@ -31,21 +42,41 @@ public class BudgetController {
     private BudgetRepository budgetRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private BudgetAnalysisService budgetAnalysisService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private AdvisorInsightRepository advisorInsightRepository;
+
+    @Value("${budgets.history.max-months:36}")
+    private int maxHistoryMonths;
 
     @GetMapping
-    public ResponseEntity<?> getBudget(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getBudget(@AuthenticationPrincipal UserDetails userDetails, WebRequest webRequest) {
         try {
             logger.info("Fetching budget for user: {}", userDetails.getUsername());
             
-            User user = userRepository.findByEmail(userDetails.getUsername())
+            User user = userCacheService.findByPrincipal(userDetails)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Optional<Budget> budget = budgetRepository.findByUserAndPeriod(user, YearMonth.now());
+            String etag = dataVersionService.etag(user.getId());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            Optional<Budget> budget = budgetAnalysisService.findBudget(user, YearMonth.now());
 
             if (budget.isPresent()) {
                 logger.info("Budget found for user: {}", userDetails.getUsername());
-                return ResponseEntity.ok(budget.get());
+                return ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(budget.get());
             } else {
                 logger.warn("No budget found for user: {}", userDetails.getUsername());
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -58,6 +89,94 @@ public class BudgetController {
         }
     }
 
+    @GetMapping("/vs-actual")
+    public ResponseEntity<?> getBudgetVsActual(@AuthenticationPrincipal UserDetails userDetails,
+                                               @RequestParam(required = false) String period) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = period != null ? YearMonth.parse(period) : YearMonth.now();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Periods must be formatted as yyyy-MM"));
+        }
+        try {
+            User user = userCacheService.findByPrincipal(userDetails)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<BudgetVsActual> comparison = budgetAnalysisService.compare(user, yearMonth);
+            if (comparison.isPresent()) {
+                return ResponseEntity.ok(comparison.get());
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "No budget found for " + yearMonth + "."));
+        } catch (Exception e) {
+            logger.error("Error comparing budget with actual spending", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error comparing budget: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<?> getBudgetHistory(@AuthenticationPrincipal UserDetails userDetails,
+                                              @RequestParam(required = false) String from,
+                                              @RequestParam(required = false) String to,
+                                              WebRequest webRequest) {
+        YearMonth toPeriod;
+        YearMonth fromPeriod;
+        try {
+            toPeriod = to != null ? YearMonth.parse(to) : YearMonth.now();
+            fromPeriod = from != null ? YearMonth.parse(from) : toPeriod.minusMonths(11);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Periods must be formatted as yyyy-MM"));
+        }
+        long months = ChronoUnit.MONTHS.between(fromPeriod, toPeriod) + 1;
+        if (months < 1) {
+            return ResponseEntity.badRequest().body(Map.of("message", "'from' must not be after 'to'"));
+        }
+        if (months > maxHistoryMonths) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "At most " + maxHistoryMonths + " months can be requested at once"));
+        }
+        try {
+            User user = userCacheService.findByPrincipal(userDetails)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            String etag = dataVersionService.etag(user.getId());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            List<BudgetHistoryEntry> history = budgetAnalysisService.history(user, fromPeriod, toPeriod);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(history);
+        } catch (Exception e) {
+            logger.error("Error fetching budget history", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error fetching budget history: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The insight precomputed by the nightly advisor batch; nothing is calculated on this request.
+     */
+    @GetMapping("/insights")
+    public ResponseEntity<?> getInsights(@AuthenticationPrincipal UserDetails userDetails,
+                                         @RequestParam(required = false) String period) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        YearMonth yearMonth;
+        try {
+            yearMonth = period != null ? YearMonth.parse(period) : YearMonth.now();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Periods must be formatted as yyyy-MM"));
+        }
+        Optional<AdvisorInsight> insight = advisorInsightRepository.findByUserAndPeriod(user, yearMonth);
+        if (insight.isPresent()) {
+            return ResponseEntity.ok(insight.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", "No insights have been computed for " + yearMonth + " yet."));
+    }
+
     @PostMapping
     public ResponseEntity<?> createOrUpdateBudget(
             @AuthenticationPrincipal UserDetails userDetails, 
@@ -66,7 +185,7 @@ public class BudgetController {
             logger.info("Creating/updating budget for user: {}", userDetails.getUsername());
             logger.debug("Budget request: {}", budgetRequest);
 
-            User user = userRepository.findByEmail(userDetails.getUsername())
+            User user = userCacheService.findByPrincipal(userDetails)
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
             YearMonth currentPeriod = YearMonth.now();
@@ -89,15 +208,7 @@ public class BudgetController {
             }
 
             // Convert category expenses
-            Map<String, BigDecimal> convertedCategoryExpenses = new HashMap<>();
-            if (budgetRequest.getCategoryExpenses() != null) {
-                convertedCategoryExpenses = budgetRequest.getCategoryExpenses().entrySet().stream()
-                        .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
-                        .collect(Collectors.toMap(
-                                Map.Entry::getKey,
-                                entry -> BigDecimal.valueOf(entry.getValue())
-                        ));
-            }
+            Map<String, BigDecimal> convertedCategoryExpenses = budgetRequest.toCategoryExpenses();
 
             Budget budget;
             if (existingBudget.isPresent()) {
@@ -110,12 +221,13 @@ public class BudgetController {
                 budget.setPeriod(currentPeriod);
             }
             
-            budget.setMonthlyIncome(BigDecimal.valueOf(budgetRequest.getMonthlyIncome()));
-            budget.setSavingGoal(BigDecimal.valueOf(budgetRequest.getSavingGoal()));
-            budget.setTargetExpenses(BigDecimal.valueOf(budgetRequest.getTargetExpenses()));
+            budget.setMonthlyIncome(Money.of(budgetRequest.getMonthlyIncome()));
+            budget.setSavingGoal(Money.of(budgetRequest.getSavingGoal()));
+            budget.setTargetExpenses(Money.of(budgetRequest.getTargetExpenses()));
             budget.setCategoryExpenses(convertedCategoryExpenses);
 
             Budget savedBudget = budgetRepository.save(budget);
+            dataVersionService.bump(user.getId());
             logger.info("Budget saved successfully with ID: {}", savedBudget.getId());
             
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -0,0 +1,69 @@
+package com.infosys.budgetwise.controller;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.CategoryRuleRequest;
+import com.infosys.budgetwise.service.CategoryRuleService;
+import com.infosys.budgetwise.service.UserCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The user's own categorization rules. Global rules are listed alongside them but managed under /api/admin.
+ */
+@RestController
+@RequestMapping("/api/category-rules")
+public class CategoryRuleController {
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<CategoryRule>> getRules(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(categoryRuleService.findForUser(user));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createRule(@AuthenticationPrincipal UserDetails userDetails, @RequestBody CategoryRuleRequest request) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        try {
+            return new ResponseEntity<>(categoryRuleService.create(user, request), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateRule(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id,
+                                        @RequestBody CategoryRuleRequest request) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        try {
+            return categoryRuleService.update(user, id, request)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return new ResponseEntity<>(categoryRuleService.delete(user, id) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+    }
+}
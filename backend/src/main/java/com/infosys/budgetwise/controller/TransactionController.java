@@ -1,19 +1,51 @@
 package com.infosys.budgetwise.controller;
 
+import com.infosys.budgetwise.model.Money;
 import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionType;
 import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.CategorySummary;
+import com.infosys.budgetwise.payload.ImportResult;
+import com.infosys.budgetwise.payload.TransactionSearchResult;
 import com.infosys.budgetwise.repository.TransactionRepository;
-import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.DataVersionService;
+import com.infosys.budgetwise.service.TransactionExportService;
+import com.infosys.budgetwise.service.TransactionImportService;
+import com.infosys.budgetwise.service.TransactionJournalService;
+import com.infosys.budgetwise.service.TransactionQueryService;
+import com.infosys.budgetwise.service.TransactionRollupService;
+import com.infosys.budgetwise.service.TransactionSearchService;
+import com.infosys.budgetwise.service.TransactionWriteService;
+import com.infosys.budgetwise.service.UserCacheService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -23,30 +55,231 @@ public class TransactionController {
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private TransactionQueryService transactionQueryService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionWriteService transactionWriteService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    // Present only with transactions.ingest.mode=journal
+    @Autowired(required = false)
+    private TransactionJournalService transactionJournalService;
 
     @GetMapping
-    public ResponseEntity<List<Transaction>> getTransactions(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
+    public ResponseEntity<List<Transaction>> getTransactions(@AuthenticationPrincipal UserDetails userDetails, WebRequest webRequest) {
+        User user = userCacheService.findByPrincipal(userDetails)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        // Unchanged since the client's copy: answer 304 before any query or serialization
+        String etag = dataVersionService.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         LocalDate startDate = LocalDate.now().withDayOfMonth(1);
         LocalDate endDate = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
         List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(user, startDate, endDate);
-        return ResponseEntity.ok(transactions);
+        if (transactionJournalService != null) {
+            // The user's own journalled writes that have not reached the table yet
+            transactions = new ArrayList<>(transactions);
+            for (Transaction pending : transactionJournalService.pendingTransactions(user.getId())) {
+                if (pending.getDate() != null && !pending.getDate().isBefore(startDate) && !pending.getDate().isAfter(endDate)) {
+                    transactions.add(pending);
+                }
+            }
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(transactions);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getTransactionPage(@AuthenticationPrincipal UserDetails userDetails,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) String category,
+                                                @RequestParam(required = false) TransactionType type,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        try {
+            return ResponseEntity.ok(transactionQueryService.findPage(user, from, to, category, type, cursor, size));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Invalid cursor"), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Ranked ids of the user's transactions whose description or category matches every word of the query,
+     * the last words also matching as prefixes. Answered from an in-memory index, not a table scan.
+     * Not a read-only transaction: a cold index is built from the primary, so it never misses a write the replica lags on.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(@AuthenticationPrincipal UserDetails userDetails,
+                                                @RequestParam String q,
+                                                @RequestParam(required = false) Integer limit) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (q.isBlank()) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Query must not be blank"), HttpStatus.BAD_REQUEST);
+        }
+        TransactionSearchResult result = transactionSearchService.search(user.getId(), q, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getMonthlySummary(@AuthenticationPrincipal UserDetails userDetails, @RequestParam(required = false) String period,
+                                                                 WebRequest webRequest) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        YearMonth yearMonth;
+        try {
+            yearMonth = period != null ? YearMonth.parse(period) : YearMonth.now();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "Periods must be formatted as yyyy-MM"));
+        }
+        String etag = dataVersionService.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<CategorySummary> categories = transactionRollupService.getMonthlySummary(user, yearMonth);
+
+        if (transactionJournalService != null) {
+            categories = mergePending(categories, transactionJournalService.pendingTransactions(user.getId()), yearMonth);
+        }
+
+        long totalIncome = 0;
+        long totalExpenses = 0;
+        for (CategorySummary summary : categories) {
+            if (summary.getType() == TransactionType.INCOME) {
+                totalIncome = Money.add(totalIncome, Money.toCents(summary.getTotal()));
+            } else {
+                totalExpenses = Money.add(totalExpenses, Money.toCents(summary.getTotal()));
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("period", yearMonth.toString());
+        response.put("totalIncome", Money.toBigDecimal(totalIncome));
+        response.put("totalExpenses", Money.toBigDecimal(totalExpenses));
+        response.put("net", Money.toBigDecimal(Money.subtract(totalIncome, totalExpenses)));
+        response.put("categories", categories);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
+    }
+
+    /**
+     * Adds the rollup totals of pending journal entries in the period to the summaries from the rollup table.
+     */
+    private static List<CategorySummary> mergePending(List<CategorySummary> categories, List<Transaction> pending, YearMonth period) {
+        if (pending.isEmpty()) {
+            return categories;
+        }
+        Map<String, CategorySummary> merged = new TreeMap<>();
+        for (CategorySummary summary : categories) {
+            merged.put(summary.getType() + "/" + summary.getCategory(), summary);
+        }
+        for (Transaction transaction : pending) {
+            if (transaction.getDate() == null || transaction.getType() == null || transaction.getAmount() == null
+                    || !YearMonth.from(transaction.getDate()).equals(period)) {
+                continue;
+            }
+            String category = TransactionRollupService.normalizeCategory(transaction.getCategory());
+            CategorySummary summary = merged.computeIfAbsent(transaction.getType() + "/" + category,
+                    k -> new CategorySummary(category, transaction.getType(), BigDecimal.ZERO, 0));
+            summary.setTotal(summary.getTotal().add(transaction.getAmount()));
+            summary.setCount(summary.getCount() + 1);
+        }
+        return new ArrayList<>(merged.values());
     }
 
     @PostMapping
     public ResponseEntity<Transaction> addTransaction(@AuthenticationPrincipal UserDetails userDetails, @RequestBody Transaction transaction) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
+        User user = userCacheService.findByPrincipal(userDetails)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        transaction.setUser(user);
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        if (transactionJournalService != null) {
+            // Durable in the journal; the row is written by the background flusher
+            try {
+                return new ResponseEntity<>(transactionJournalService.append(user, transaction), HttpStatus.ACCEPTED);
+            } catch (IllegalStateException e) {
+                return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+        Transaction savedTransaction = transactionWriteService.create(user, transaction);
         return new ResponseEntity<>(savedTransaction, HttpStatus.CREATED);
     }
 
+    /**
+     * Streams a CSV or OFX bank export from the raw request body; the file is never held in memory as a whole.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importTransactions(@AuthenticationPrincipal UserDetails userDetails,
+                                                @RequestParam(defaultValue = "csv") String format,
+                                                HttpServletRequest request) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        TransactionImportService.Format importFormat;
+        try {
+            importFormat = TransactionImportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Unsupported import format: " + format), HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            ImportResult result = transactionImportService.importTransactions(user, request.getInputStream(), importFormat);
+            // An aborted import still reports what was committed, so the client can resume instead of starting over
+            return new ResponseEntity<>(result, result.isAborted() ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (IOException e) {
+            return new ResponseEntity<>(Collections.singletonMap("message", "Import failed: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@AuthenticationPrincipal UserDetails userDetails,
+                                                                    @RequestParam(defaultValue = "csv") String format) {
+        User user = userCacheService.findByPrincipal(userDetails)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        Long userId = user.getId();
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, out);
+        boolean csv = exportFormat == TransactionExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @PutMapping("/{id}")
+    @Transactional
     public ResponseEntity<Transaction> updateTransaction(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id, @RequestBody Transaction transactionDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
+        User user = userCacheService.findByPrincipal(userDetails)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Optional<Transaction> optionalTransaction = transactionRepository.findById(id);
 
@@ -55,12 +288,17 @@ public class TransactionController {
             if (!transaction.getUser().getId().equals(user.getId())) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
+            // Take the old amount out of its rollup before the date, category or type can move it
+            transactionRollupService.remove(transaction);
             transaction.setDescription(transactionDetails.getDescription());
             transaction.setAmount(transactionDetails.getAmount());
             transaction.setCategory(transactionDetails.getCategory());
             transaction.setDate(transactionDetails.getDate());
             transaction.setType(transactionDetails.getType());
             Transaction updatedTransaction = transactionRepository.save(transaction);
+            transactionRollupService.add(updatedTransaction);
+            transactionSearchService.indexed(updatedTransaction);
+            dataVersionService.bump(user.getId());
             return ResponseEntity.ok(updatedTransaction);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -68,8 +306,9 @@ public class TransactionController {
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteTransaction(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
+        User user = userCacheService.findByPrincipal(userDetails)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Optional<Transaction> optionalTransaction = transactionRepository.findById(id);
 
@@ -79,6 +318,9 @@ public class TransactionController {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
             transactionRepository.delete(transaction);
+            transactionRollupService.remove(transaction);
+            transactionSearchService.removed(user.getId(), transaction.getId());
+            dataVersionService.bump(user.getId());
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
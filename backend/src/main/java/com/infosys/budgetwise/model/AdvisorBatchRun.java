@@ -0,0 +1,51 @@
+package com.infosys.budgetwise.model;
+
+import com.infosys.budgetwise.config.YearMonthAttributeConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Progress of one advisor batch run. {@code lastUserId} is the watermark below which every user is done,
+ * so an interrupted run resumes from it instead of starting over.
+ */
+@Entity
+@Table(name = "advisor_batch_runs")
+@Data
+public class AdvisorBatchRun {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    @Convert(converter = YearMonthAttributeConverter.class)
+    private YearMonth period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long lastUserId;
+
+    private long usersProcessed;
+
+    // Time spent processing, summed across resumed attempts
+    private long elapsedMillis;
+
+    private String error;
+
+    public double getUsersPerSecond() {
+        return elapsedMillis == 0 ? 0 : usersProcessed * 1000.0 / elapsedMillis;
+    }
+}
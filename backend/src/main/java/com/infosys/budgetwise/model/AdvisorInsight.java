@@ -0,0 +1,69 @@
+package com.infosys.budgetwise.model;
+
+import com.infosys.budgetwise.config.YearMonthAttributeConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed month-to-date insight for one user and month, written by
+ * {@link com.infosys.budgetwise.service.AdvisorBatchService} and read as-is by the insights endpoint.
+ */
+@Entity
+@Table(name = "advisor_insights", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "period"})
+})
+@Data
+public class AdvisorInsight {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    @Convert(converter = YearMonthAttributeConverter.class)
+    private YearMonth period;
+
+    @Column(nullable = false)
+    private Instant computedAt;
+
+    private int daysElapsed;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal income;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal expenses;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal projectedExpenses;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal targetExpenses;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal projectedSavings;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal savingGoal;
+
+    // Projected savings as a percentage of the saving goal
+    @Column(precision = 10, scale = 2)
+    private BigDecimal savingGoalProgress;
+
+    private boolean overspendProjected;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<String> warnings = new ArrayList<>();
+}
@@ -1,8 +1,12 @@
 package com.infosys.budgetwise.model;
 
+import com.infosys.budgetwise.config.MoneyAttributeConverter;
 import com.infosys.budgetwise.config.YearMonthAttributeConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.HashMap;
@@ -18,6 +22,7 @@ public class Budget {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -27,17 +32,19 @@ public class Budget {
     private YearMonth period;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal monthlyIncome;
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money monthlyIncome;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal savingGoal;
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money savingGoal;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal targetExpenses;
+    @Convert(converter = MoneyAttributeConverter.class)
+    private Money targetExpenses;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "budget_category_expenses", joinColumns = @JoinColumn(name = "budget_id"))
-    @MapKeyColumn(name = "category", length = 50)
-    @Column(name = "amount", precision = 10, scale = 2)
+    // Stored inline so loading or saving a budget touches a single row; see BudgetCategoryExpensesMigration
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "category_expenses")
     private Map<String, BigDecimal> categoryExpenses = new HashMap<>();
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.infosys.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Dictionary of category names. Transactions store the small integer id instead of repeating the name on every row;
+ * names are resolved through {@link com.infosys.budgetwise.service.CategoryDictionary}.
+ */
+@Entity
+@Table(name = "categories", indexes = {
+    @Index(name = "idx_categories_name", columnList = "name", unique = true)
+})
+@Data
+public class Category {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+}
@@ -0,0 +1,60 @@
+package com.infosys.budgetwise.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Assigns a category to new transactions that arrive without one.
+ * A rule belongs to one user, or to everybody when it has no user; a user's own rules take precedence over global ones.
+ * KEYWORD matches the pattern as whole words anywhere in the description, PREFIX at its start, and AMOUNT has no
+ * pattern and matches on the amount alone. The optional amount bounds (inclusive) narrow any kind of rule.
+ */
+@Entity
+@Table(name = "category_rules", indexes = {
+    @Index(name = "idx_category_rules_user", columnList = "user_id")
+})
+@Data
+public class CategoryRule {
+
+    public enum MatchType {
+        KEYWORD, PREFIX, AMOUNT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false, length = 16)
+    private MatchType matchType;
+
+    private String pattern;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(nullable = false)
+    private String category;
+
+    // Higher wins between matching rules of the same owner
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public boolean isGlobal() {
+        return user == null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.infosys.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Highest journal sequence whose transaction has been written to the transactions table.
+ * Updated in the same database transaction as the rows it covers, so replay after a crash never inserts twice.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+@Data
+public class JournalCheckpoint {
+    @Id
+    @Column(length = 50)
+    private String journal;
+
+    @Column(nullable = false)
+    private long lastSequence;
+}
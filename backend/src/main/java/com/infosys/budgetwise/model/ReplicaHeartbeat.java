@@ -0,0 +1,20 @@
+package com.infosys.budgetwise.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Timestamp written to the primary at a fixed interval and read back from the replica; how old the replica's copy is
+ * tells how far replication lags behind.
+ */
+@Entity
+@Table(name = "replica_heartbeats")
+@Data
+public class ReplicaHeartbeat {
+    @Id
+    private Integer id;
+
+    // Epoch milliseconds, so the value is the same whatever the time zone of either server
+    @Column(nullable = false)
+    private long beatAt;
+}
@@ -1,18 +1,23 @@
 package com.infosys.budgetwise.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.infosys.budgetwise.config.CategoryIdAttributeConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id")
+})
 @Data
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -22,8 +27,16 @@ public class Transaction {
     @Column(nullable = false)
     private BigDecimal amount;
 
+    // Exposed as the name, stored as the id of the name in the categories dictionary
+    @Column(name = "category_id")
+    @Convert(converter = CategoryIdAttributeConverter.class)
     private String category;
 
+    // The same column as a plain id, for filters that must not create dictionary entries
+    @JsonIgnore
+    @Column(name = "category_id", insertable = false, updatable = false)
+    private Integer categoryId;
+
     @Column(nullable = false)
     private LocalDate date;
 
@@ -0,0 +1,45 @@
+package com.infosys.budgetwise.model;
+
+import com.infosys.budgetwise.config.YearMonthAttributeConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Running sum and count of a user's transactions for one month, category and type.
+ * Maintained incrementally by {@link com.infosys.budgetwise.service.TransactionRollupService}.
+ */
+@Entity
+@Table(name = "transaction_rollups", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "period", "category", "type"})
+})
+@Data
+public class TransactionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    @Convert(converter = YearMonthAttributeConverter.class)
+    private YearMonth period;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,23 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the admin user listing. Never carries the password hash or the user's history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminUserSummary {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private Long transactionCount;
+    private LocalDate lastActivityDate;
+    private Long budgetCount;
+}
@@ -0,0 +1,23 @@
+package com.infosys.budgetwise.payload;
+
+import com.infosys.budgetwise.model.Budget;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One month of a budget history: the budget set for the month, if any, and the actual totals from the rollups.
+ */
+@Data
+public class BudgetHistoryEntry {
+    private String period;
+    private Budget budget;
+    private BigDecimal actualIncome;
+    private BigDecimal actualExpenses;
+    private BigDecimal net;
+    private BigDecimal expenseVariance;
+    private long transactionCount;
+    private Map<String, BigDecimal> expensesByCategory = new TreeMap<>();
+}
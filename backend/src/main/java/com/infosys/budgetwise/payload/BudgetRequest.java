@@ -1,7 +1,10 @@
 package com.infosys.budgetwise.payload;
 
 import lombok.Data;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Data
 public class BudgetRequest {
@@ -9,4 +12,19 @@ public class BudgetRequest {
     private Double savingGoal;
     private Double targetExpenses;
     private Map<String, Double> categoryExpenses;
+
+    /**
+     * Category amounts as stored on the budget; categories with no positive amount are dropped.
+     */
+    public Map<String, BigDecimal> toCategoryExpenses() {
+        if (categoryExpenses == null) {
+            return new HashMap<>();
+        }
+        return categoryExpenses.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> BigDecimal.valueOf(entry.getValue())
+                ));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BudgetVsActual {
+    private String period;
+    private BigDecimal elapsedFraction;
+    private BigDecimal targetExpenses;
+    private BigDecimal totalPlanned;
+    private BigDecimal totalActual;
+    private BigDecimal totalVariance;
+    private List<CategoryVariance> categories = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.infosys.budgetwise.payload;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CategoryRuleRequest {
+    private CategoryRule.MatchType matchType;
+    private String pattern;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String category;
+    private Integer priority;
+}
@@ -0,0 +1,18 @@
+package com.infosys.budgetwise.payload;
+
+import com.infosys.budgetwise.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummary {
+    private String category;
+    private TransactionType type;
+    private BigDecimal total;
+    private long count;
+}
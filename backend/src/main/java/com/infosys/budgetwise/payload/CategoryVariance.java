@@ -0,0 +1,24 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryVariance {
+    private String category;
+    private BigDecimal planned;
+    private BigDecimal actual;
+    // planned - actual; negative means the category is over budget
+    private BigDecimal variance;
+    // actual / planned * 100, or null when nothing was planned
+    private BigDecimal percentUsed;
+    // Share of the plan spent divided by share of the month elapsed; above 1 means spending faster than planned
+    private BigDecimal burnRate;
+    // Spending at the current pace extrapolated to the end of the month
+    private BigDecimal projected;
+}
@@ -0,0 +1,23 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResult {
+    private long accepted;
+    private long rejected;
+    // Accepted rows without a category that a categorization rule filled in
+    private long categorized;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // Set when reading or writing failed part-way: the rows counted in accepted are committed, and the file has to be
+    // resent from failedLine on, not from the start, or those rows are imported twice
+    private boolean aborted;
+    private Long failedLine;
+    private String abortReason;
+    // Only the first few rejections are reported, to keep the response small for large files
+    private List<String> errors = new ArrayList<>();
+}
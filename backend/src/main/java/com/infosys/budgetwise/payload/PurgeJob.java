@@ -0,0 +1,32 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background user purge. Written by the purge thread and read by the status endpoint.
+ */
+@Data
+public class PurgeJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final Long userId;
+    private volatile Status status = Status.QUEUED;
+    private volatile String currentStep;
+    private volatile long transactionsDeleted;
+    private volatile long rollupsDeleted;
+    private volatile long budgetsDeleted;
+    private volatile Instant createdAt = Instant.now();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+}
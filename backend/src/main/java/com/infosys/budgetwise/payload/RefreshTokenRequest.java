@@ -0,0 +1,8 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
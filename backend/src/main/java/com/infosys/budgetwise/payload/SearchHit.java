@@ -0,0 +1,15 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private Long id;
+    private BigDecimal score;
+}
@@ -0,0 +1,24 @@
+package com.infosys.budgetwise.payload;
+
+import com.infosys.budgetwise.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Scalar projection of a transaction, used where loading the entity would be wasted work.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDto {
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private String category;
+    private LocalDate date;
+    private TransactionType type;
+}
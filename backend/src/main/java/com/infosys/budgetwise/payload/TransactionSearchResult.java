@@ -0,0 +1,15 @@
+package com.infosys.budgetwise.payload;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TransactionSearchResult {
+    private String query;
+    // Number of matching transactions, of which the best ranked are in hits
+    private int total;
+    private List<SearchHit> hits = new ArrayList<>();
+    private long tookMicros;
+}
@@ -0,0 +1,12 @@
+package com.infosys.budgetwise.repository;
+
+import com.infosys.budgetwise.model.AdvisorBatchRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AdvisorBatchRunRepository extends JpaRepository<AdvisorBatchRun, Long> {
+    Optional<AdvisorBatchRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,16 @@
+package com.infosys.budgetwise.repository;
+
+import com.infosys.budgetwise.model.AdvisorInsight;
+import com.infosys.budgetwise.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+@Repository
+public interface AdvisorInsightRepository extends JpaRepository<AdvisorInsight, Long> {
+    @Transactional(readOnly = true)
+    Optional<AdvisorInsight> findByUserAndPeriod(User user, YearMonth period);
+}
@@ -6,9 +6,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserAndPeriod(User user, YearMonth period);
+
+    List<Budget> findByUserAndPeriodBetweenOrderByPeriod(User user, YearMonth from, YearMonth to);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.infosys.budgetwise.repository;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+
+    List<CategoryRule> findByUserIsNullOrderById();
+
+    List<CategoryRule> findByUserOrderById(User user);
+
+    // The user's own rules followed by the global ones
+    @Query("SELECT r FROM CategoryRule r WHERE r.user = :user OR r.user IS NULL ORDER BY r.id")
+    List<CategoryRule> findApplicable(@Param("user") User user);
+
+    boolean existsByUser(User user);
+}
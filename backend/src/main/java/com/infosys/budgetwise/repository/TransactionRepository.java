@@ -1,14 +1,56 @@
 package com.infosys.budgetwise.repository;
 
 import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionType;
 import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.TransactionDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    @Transactional(readOnly = true)
     List<Transaction> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    /**
+     * Keyset page over (date, id), newest first: returns rows strictly before the cursor position.
+     * Served by the (user_id, date, id) index, so the cost does not grow with how far back the page is.
+     */
+    @Query("SELECT new com.infosys.budgetwise.payload.TransactionDto(t.id, t.description, t.amount, t.category, t.date, t.type) " +
+           "FROM Transaction t " +
+           "WHERE t.user = :user AND t.date BETWEEN :from AND :to " +
+           "AND (:categoryId IS NULL OR t.categoryId = :categoryId) " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "AND (t.date < :cursorDate OR (t.date = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDto> findPageBefore(@Param("user") User user,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("categoryId") Integer categoryId,
+                                        @Param("type") TransactionType type,
+                                        @Param("cursorDate") LocalDate cursorDate,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // Rows: category, sum(amount)
+    @Query("SELECT t.category, SUM(t.amount) FROM Transaction t " +
+           "WHERE t.user = :user AND t.type = :type AND t.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.category")
+    List<Object[]> sumByCategory(@Param("user") User user,
+                                 @Param("type") TransactionType type,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+
+    // Rows: category, type, year, month, sum(amount), count
+    @Query("SELECT t.category, t.type, year(t.date), month(t.date), SUM(t.amount), COUNT(t) FROM Transaction t " +
+           "WHERE t.user = :user AND t.type IS NOT NULL " +
+           "GROUP BY t.category, t.type, year(t.date), month(t.date)")
+    List<Object[]> sumByMonthCategoryAndType(@Param("user") User user);
+}
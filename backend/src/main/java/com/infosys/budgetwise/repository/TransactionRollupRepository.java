@@ -0,0 +1,41 @@
+package com.infosys.budgetwise.repository;
+
+import com.infosys.budgetwise.model.TransactionRollup;
+import com.infosys.budgetwise.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    List<TransactionRollup> findByUserAndPeriod(User user, YearMonth period);
+
+    List<TransactionRollup> findByUserAndPeriodBetween(User user, YearMonth from, YearMonth to);
+
+    /**
+     * Adds to the rollup row, creating it when missing, in a single statement: two concurrent first writes for the
+     * same key cannot both insert. Accepted by MySQL and by H2 in MySQL mode.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups (user_id, period, category, type, total, transaction_count) " +
+                   "VALUES (:userId, :period, :category, :type, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total = total + :amount, transaction_count = transaction_count + :count",
+           nativeQuery = true)
+    int upsert(@Param("userId") Long userId,
+               @Param("period") String period,
+               @Param("category") String category,
+               @Param("type") String type,
+               @Param("amount") BigDecimal amount,
+               @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.user = :user")
+    int deleteByUser(@Param("user") User user);
+}
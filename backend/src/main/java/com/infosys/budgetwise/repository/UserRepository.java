@@ -1,7 +1,11 @@
 package com.infosys.budgetwise.repository;
 
 import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.AdminUserSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +14,16 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Admin listing in a single query. Transaction counts come from the monthly rollups and the latest activity
+     * from a seek on the (user_id, date, id) index, so the cost per user does not grow with the user's history.
+     */
+    @Query(value = "SELECT new com.infosys.budgetwise.payload.AdminUserSummary(u.id, u.name, u.email, u.role, " +
+                   "(SELECT COALESCE(SUM(r.transactionCount), 0L) FROM TransactionRollup r WHERE r.user = u), " +
+                   "(SELECT MAX(t.date) FROM Transaction t WHERE t.user = u), " +
+                   "(SELECT COUNT(b) FROM Budget b WHERE b.user = u)) " +
+                   "FROM User u",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<AdminUserSummary> findAdminSummaries(Pageable pageable);
 }
\ No newline at end of file
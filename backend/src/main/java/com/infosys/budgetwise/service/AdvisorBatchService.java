@@ -0,0 +1,406 @@
+package com.infosys.budgetwise.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.budgetwise.model.AdvisorBatchRun;
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.repository.AdvisorBatchRunRepository;
+import com.infosys.budgetwise.util.JsonColumns;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Precomputes each user's month-to-date insight into {@code advisor_insights}: projected end-of-month spending,
+ * overspend warnings per category and progress towards the saving goal.
+ * <p>
+ * Users are walked in id order in chunks of {@code advisor.batch.chunk-size}. Each chunk reads its users' rollups
+ * and budgets for the month with two set-based queries, computes every insight in memory and upserts them in one
+ * JDBC batch. Chunks run in parallel on a fork-join pool, or on virtual threads, with a bounded number in flight.
+ * The coordinator advances the run's watermark only past chunks whose predecessors are all done, so a run that
+ * dies part way resumes from the watermark, redoing at most the chunks that were in flight.
+ */
+@Service
+public class AdvisorBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdvisorBatchService.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO advisor_insights (user_id, period, computed_at, days_elapsed, income, "
+            + "expenses, projected_expenses, target_expenses, projected_savings, saving_goal, saving_goal_progress, "
+            + "overspend_projected, warnings) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, %s) "
+            + "ON DUPLICATE KEY UPDATE computed_at = VALUES(computed_at), days_elapsed = VALUES(days_elapsed), "
+            + "income = VALUES(income), expenses = VALUES(expenses), projected_expenses = VALUES(projected_expenses), "
+            + "target_expenses = VALUES(target_expenses), projected_savings = VALUES(projected_savings), "
+            + "saving_goal = VALUES(saving_goal), saving_goal_progress = VALUES(saving_goal_progress), "
+            + "overspend_projected = VALUES(overspend_projected), warnings = VALUES(warnings)";
+
+    private static final TypeReference<Map<String, BigDecimal>> CATEGORY_MAP = new TypeReference<>() {
+    };
+
+    /**
+     * The month's budget of a user in cents; the amounts that are not set are null.
+     */
+    public record BudgetPlan(Long monthlyIncome, Long savingGoal, Long targetExpenses, Map<String, Long> categories) {
+    }
+
+    /**
+     * A computed insight, in the shape of an {@code advisor_insights} row.
+     */
+    public record Insight(long userId, int daysElapsed, long income, long expenses, long projectedExpenses,
+                          Long targetExpenses, long projectedSavings, Long savingGoal, BigDecimal savingGoalProgress,
+                          boolean overspendProjected, List<String> warnings) {
+    }
+
+    private record Chunk(long lastUserId, int size, Future<?> done) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private AdvisorBatchRunRepository runRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${advisor.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${advisor.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${advisor.batch.parallelism:0}")
+    private int parallelism;
+
+    @Value("${advisor.batch.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<Double> lastThroughput = new AtomicReference<>(0.0);
+    private Counter usersCounter;
+    private Timer chunkTimer;
+    private String upsertSql;
+
+    @PostConstruct
+    public void init() {
+        usersCounter = Counter.builder("advisor.batch.users").description("Users whose insight was computed").register(meterRegistry);
+        chunkTimer = Timer.builder("advisor.batch.chunk").description("Time to compute and write one chunk").register(meterRegistry);
+        Gauge.builder("advisor.batch.throughput", lastThroughput, AtomicReference::get)
+                .description("Users per second of the last finished run").baseUnit("users/s").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${advisor.batch.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<AdvisorBatchRun> getLastRun() {
+        return runRepository.findFirstByOrderByIdDesc();
+    }
+
+    /**
+     * Starts a run on a background thread. Returns false if a run is already in progress.
+     */
+    public boolean startAsync() {
+        if (running.get()) {
+            return false;
+        }
+        Thread thread = new Thread(this::run, "advisor-batch");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Runs the batch for the current month, resuming the previous run if it started today and did not finish. An
+     * unfinished run from an earlier day is not resumed: the users it already processed were advised as of that day.
+     * Returns empty if a run is already in progress in this process.
+     */
+    public Optional<AdvisorBatchRun> run() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(execute(LocalDate.now()));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AdvisorBatchRun execute(LocalDate today) {
+        YearMonth period = YearMonth.from(today);
+        AdvisorBatchRun run = runRepository.findFirstByOrderByIdDesc()
+                .filter(last -> last.getStatus() != AdvisorBatchRun.Status.COMPLETED && period.equals(last.getPeriod())
+                        && today.equals(LocalDate.ofInstant(last.getStartedAt(), ZoneId.systemDefault())))
+                .orElseGet(() -> {
+                    AdvisorBatchRun created = new AdvisorBatchRun();
+                    created.setPeriod(period);
+                    created.setStartedAt(Instant.now());
+                    return created;
+                });
+        if (run.getId() != null) {
+            logger.info("Resuming advisor batch run {} after user {}", run.getId(), run.getLastUserId());
+        }
+        run.setStatus(AdvisorBatchRun.Status.RUNNING);
+        run.setError(null);
+        run = runRepository.save(run);
+
+        if (upsertSql == null) {
+            upsertSql = String.format(UPSERT_SQL, JsonColumns.placeholder(jdbcTemplate));
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = threads * 2;
+        long started = System.currentTimeMillis();
+        long baseElapsed = run.getElapsedMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : new ForkJoinPool(threads);
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        try {
+            long cursor = run.getLastUserId();
+            boolean exhausted = false;
+            while (true) {
+                while (!exhausted && inFlight.size() < maxInFlight) {
+                    List<Long> userIds = jdbcTemplate.queryForList(
+                            "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class, cursor, chunkSize);
+                    if (userIds.isEmpty()) {
+                        exhausted = true;
+                        break;
+                    }
+                    cursor = userIds.get(userIds.size() - 1);
+                    inFlight.add(new Chunk(cursor, userIds.size(),
+                            executor.submit(() -> chunkTimer.record(() -> processChunk(userIds, period, today, transactionTemplate)))));
+                }
+                Chunk head = inFlight.poll();
+                if (head == null) {
+                    break;
+                }
+                head.done().get();
+                usersCounter.increment(head.size());
+                run.setLastUserId(head.lastUserId());
+                run.setUsersProcessed(run.getUsersProcessed() + head.size());
+                run.setElapsedMillis(baseElapsed + System.currentTimeMillis() - started);
+                run = runRepository.save(run);
+            }
+            run.setStatus(AdvisorBatchRun.Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.setStatus(AdvisorBatchRun.Status.FAILED);
+            run.setError("Interrupted");
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            logger.error("Advisor batch run {} failed after user {}", run.getId(), run.getLastUserId(), cause);
+            run.setStatus(AdvisorBatchRun.Status.FAILED);
+            run.setError(cause.getMessage());
+        } finally {
+            inFlight.forEach(chunk -> chunk.done().cancel(true));
+            executor.shutdownNow();
+        }
+
+        run.setElapsedMillis(baseElapsed + System.currentTimeMillis() - started);
+        run.setFinishedAt(Instant.now());
+        run = runRepository.save(run);
+        if (run.getStatus() == AdvisorBatchRun.Status.COMPLETED) {
+            lastThroughput.set(run.getUsersPerSecond());
+            logger.info("Advisor batch run {} computed {} insights in {} ms ({} users/s)", run.getId(),
+                    run.getUsersProcessed(), run.getElapsedMillis(), String.format("%.0f", run.getUsersPerSecond()));
+        }
+        return run;
+    }
+
+    private void processChunk(List<Long> userIds, YearMonth period, LocalDate today, TransactionTemplate transactionTemplate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", userIds)
+                .addValue("period", period.toString());
+
+        // Month-to-date totals per user: [income, expenses] and expenses per category
+        Map<Long, long[]> totals = new HashMap<>();
+        Map<Long, Map<String, Long>> categoryExpenses = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT user_id, category, type, total FROM transaction_rollups WHERE period = :period AND user_id IN (:ids)",
+                params, (ResultSet rs) -> {
+                    long userId = rs.getLong(1);
+                    long cents = Money.toCents(rs.getBigDecimal(4));
+                    long[] userTotals = totals.computeIfAbsent(userId, id -> new long[2]);
+                    if (TransactionType.INCOME.name().equals(rs.getString(3))) {
+                        userTotals[0] = Money.add(userTotals[0], cents);
+                    } else {
+                        userTotals[1] = Money.add(userTotals[1], cents);
+                        categoryExpenses.computeIfAbsent(userId, id -> new HashMap<>()).merge(rs.getString(2), cents, Money::add);
+                    }
+                });
+
+        Map<Long, BudgetPlan> budgets = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT user_id, monthly_income, saving_goal, target_expenses, category_expenses FROM budgets "
+                        + "WHERE period = :period AND user_id IN (:ids)",
+                params, (ResultSet rs) -> {
+                    budgets.put(rs.getLong(1), new BudgetPlan(cents(rs, 2), cents(rs, 3), cents(rs, 4), readCategories(rs.getString(5))));
+                });
+
+        List<Insight> insights = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            insights.add(compute(userId, period, today, totals.getOrDefault(userId, new long[2]),
+                    categoryExpenses.getOrDefault(userId, Map.of()), budgets.get(userId)));
+        }
+
+        Timestamp computedAt = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(upsertSql, insights, insights.size(), (ps, insight) -> {
+                    ps.setLong(1, insight.userId());
+                    ps.setString(2, period.toString());
+                    ps.setTimestamp(3, computedAt);
+                    ps.setInt(4, insight.daysElapsed());
+                    ps.setBigDecimal(5, Money.toBigDecimal(insight.income()));
+                    ps.setBigDecimal(6, Money.toBigDecimal(insight.expenses()));
+                    ps.setBigDecimal(7, Money.toBigDecimal(insight.projectedExpenses()));
+                    ps.setBigDecimal(8, insight.targetExpenses() != null ? Money.toBigDecimal(insight.targetExpenses()) : null);
+                    ps.setBigDecimal(9, Money.toBigDecimal(insight.projectedSavings()));
+                    ps.setBigDecimal(10, insight.savingGoal() != null ? Money.toBigDecimal(insight.savingGoal()) : null);
+                    if (insight.savingGoalProgress() != null) {
+                        ps.setBigDecimal(11, insight.savingGoalProgress());
+                    } else {
+                        ps.setNull(11, Types.DECIMAL);
+                    }
+                    ps.setBoolean(12, insight.overspendProjected());
+                    ps.setString(13, writeWarnings(insight.warnings()));
+                }));
+    }
+
+    /**
+     * Pure computation of one user's insight from the month-to-date totals ({@code [income, expenses]} in cents),
+     * the expenses per category and the month's budget, if any.
+     */
+    public static Insight compute(long userId, YearMonth period, LocalDate today, long[] totals,
+                                  Map<String, Long> categoryExpenses, BudgetPlan budget) {
+        int daysInMonth = period.lengthOfMonth();
+        int daysElapsed = BudgetAnalysisService.daysElapsed(period, today);
+        long income = totals[0];
+        long expenses = totals[1];
+        long projectedExpenses = project(expenses, daysElapsed, daysInMonth);
+
+        Long targetExpenses = budget != null ? budget.targetExpenses() : null;
+        Long savingGoal = budget != null ? budget.savingGoal() : null;
+        // The planned income stands in for paychecks that have not arrived yet this month
+        long expectedIncome = budget != null && budget.monthlyIncome() != null ? Math.max(budget.monthlyIncome(), income) : income;
+        long projectedSavings = Money.subtract(expectedIncome, projectedExpenses);
+
+        List<String> warnings = new ArrayList<>();
+        boolean overspendProjected = targetExpenses != null && projectedExpenses > targetExpenses;
+        if (overspendProjected) {
+            warnings.add("Projected spending of " + Money.toBigDecimal(projectedExpenses)
+                    + " exceeds the target of " + Money.toBigDecimal(targetExpenses));
+        }
+        if (budget != null) {
+            for (Map.Entry<String, Long> plan : new TreeMap<>(budget.categories()).entrySet()) {
+                long actual = categoryExpenses.getOrDefault(plan.getKey(), 0L);
+                long projected = project(actual, daysElapsed, daysInMonth);
+                if (plan.getValue() > 0 && projected > plan.getValue()) {
+                    warnings.add(plan.getKey() + ": projected " + Money.toBigDecimal(projected)
+                            + " against a plan of " + Money.toBigDecimal(plan.getValue()));
+                }
+            }
+        }
+
+        BigDecimal savingGoalProgress = null;
+        if (savingGoal != null && savingGoal > 0) {
+            savingGoalProgress = BigDecimal.valueOf(Money.divideHalfUp(Math.multiplyExact(projectedSavings, 10_000L), savingGoal), 2);
+            if (projectedSavings < savingGoal) {
+                warnings.add("Projected savings of " + Money.toBigDecimal(projectedSavings)
+                        + " fall short of the goal of " + Money.toBigDecimal(savingGoal));
+            }
+        }
+
+        return new Insight(userId, daysElapsed, income, expenses, projectedExpenses, targetExpenses, projectedSavings,
+                savingGoal, savingGoalProgress, overspendProjected, warnings);
+    }
+
+    private static long project(long monthToDate, int daysElapsed, int daysInMonth) {
+        return daysElapsed > 0 ? Money.divideHalfUp(Math.multiplyExact(monthToDate, daysInMonth), daysElapsed) : monthToDate;
+    }
+
+    private static Long cents(ResultSet rs, int column) throws SQLException {
+        BigDecimal amount = rs.getBigDecimal(column);
+        return amount != null ? Money.toCents(amount) : null;
+    }
+
+    private Map<String, Long> readCategories(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<String, Long> categories = new HashMap<>();
+            objectMapper.readValue(json, CATEGORY_MAP).forEach((category, amount) -> {
+                if (amount != null) {
+                    categories.merge(TransactionRollupService.normalizeCategory(category), Money.toCents(amount), Money::add);
+                }
+            });
+            return categories;
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable category expenses: {}", e.getOriginalMessage());
+            return Map.of();
+        }
+    }
+
+    private String writeWarnings(List<String> warnings) {
+        try {
+            return objectMapper.writeValueAsString(warnings);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise warnings", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.infosys.budgetwise.service;
+
+/**
+ * Thrown when password hashing work is refused because the dedicated executor is saturated.
+ * Controllers answer it with 429 so clients back off instead of piling more BCrypt work onto the server.
+ */
+public class AuthenticationBusyException extends RuntimeException {
+
+    public AuthenticationBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,191 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.Budget;
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.TransactionRollup;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.BudgetHistoryEntry;
+import com.infosys.budgetwise.payload.BudgetVsActual;
+import com.infosys.budgetwise.payload.CategoryVariance;
+import com.infosys.budgetwise.repository.BudgetRepository;
+import com.infosys.budgetwise.repository.TransactionRepository;
+import com.infosys.budgetwise.repository.TransactionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Compares the planned category amounts of a budget with what was actually spent in its period.
+ * Spending is read with one grouped aggregate query per request, never row by row.
+ */
+@Service
+public class BudgetAnalysisService {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    /**
+     * The user's budget for the month.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Budget> findBudget(User user, YearMonth period) {
+        return budgetRepository.findByUserAndPeriod(user, period);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BudgetVsActual> compare(User user, YearMonth period) {
+        Optional<Budget> budget = budgetRepository.findByUserAndPeriod(user, period);
+        if (budget.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Object[]> actualRows = transactionRepository.sumByCategory(user, TransactionType.EXPENSE,
+                period.atDay(1), period.atEndOfMonth());
+        return Optional.of(compute(budget.get(), actualRows, period, LocalDate.now()));
+    }
+
+    /**
+     * Budgets and actual totals for every month from {@code from} to {@code to}, inclusive, oldest first.
+     * Runs two queries whatever the length of the range: the budgets, whose category amounts are stored inline,
+     * and the monthly rollups of the range.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetHistoryEntry> history(User user, YearMonth from, YearMonth to) {
+        Map<YearMonth, BudgetHistoryEntry> entries = new TreeMap<>();
+        Map<YearMonth, long[]> totals = new HashMap<>();
+        for (YearMonth period = from; !period.isAfter(to); period = period.plusMonths(1)) {
+            BudgetHistoryEntry entry = new BudgetHistoryEntry();
+            entry.setPeriod(period.toString());
+            entries.put(period, entry);
+            // Income and expense cents
+            totals.put(period, new long[2]);
+        }
+
+        for (Budget budget : budgetRepository.findByUserAndPeriodBetweenOrderByPeriod(user, from, to)) {
+            entries.get(budget.getPeriod()).setBudget(budget);
+        }
+
+        Map<YearMonth, Map<String, long[]>> categoryCents = new HashMap<>();
+        for (TransactionRollup rollup : rollupRepository.findByUserAndPeriodBetween(user, from, to)) {
+            BudgetHistoryEntry entry = entries.get(rollup.getPeriod());
+            entry.setTransactionCount(entry.getTransactionCount() + rollup.getTransactionCount());
+            long cents = Money.toCents(rollup.getTotal());
+            long[] periodTotals = totals.get(rollup.getPeriod());
+            if (rollup.getType() == TransactionType.INCOME) {
+                periodTotals[0] = Money.add(periodTotals[0], cents);
+            } else {
+                periodTotals[1] = Money.add(periodTotals[1], cents);
+                long[] category = categoryCents.computeIfAbsent(rollup.getPeriod(), k -> new HashMap<>())
+                        .computeIfAbsent(rollup.getCategory(), k -> new long[1]);
+                category[0] = Money.add(category[0], cents);
+            }
+        }
+
+        List<BudgetHistoryEntry> history = new ArrayList<>(entries.size());
+        for (Map.Entry<YearMonth, BudgetHistoryEntry> item : entries.entrySet()) {
+            BudgetHistoryEntry entry = item.getValue();
+            long[] periodTotals = totals.get(item.getKey());
+            entry.setActualIncome(Money.toBigDecimal(periodTotals[0]));
+            entry.setActualExpenses(Money.toBigDecimal(periodTotals[1]));
+            entry.setNet(Money.toBigDecimal(Money.subtract(periodTotals[0], periodTotals[1])));
+            if (entry.getBudget() != null && entry.getBudget().getTargetExpenses() != null) {
+                entry.setExpenseVariance(entry.getBudget().getTargetExpenses().toBigDecimal()
+                        .subtract(entry.getActualExpenses()));
+            }
+            categoryCents.getOrDefault(item.getKey(), Map.of()).forEach((category, cents) ->
+                    entry.getExpensesByCategory().put(category, Money.toBigDecimal(cents[0])));
+            history.add(entry);
+        }
+        return history;
+    }
+
+    /**
+     * Pure computation over the budget and the (category, sum) rows; kept separate so it can be benchmarked on its own.
+     * All arithmetic runs on long cents, and ratios are rounded half-up with integer division.
+     */
+    public static BudgetVsActual compute(Budget budget, List<Object[]> actualRows, YearMonth period, LocalDate today) {
+        Map<String, long[]> categories = new TreeMap<>();
+        budget.getCategoryExpenses().forEach((category, amount) -> {
+            long[] cents = categories.computeIfAbsent(TransactionRollupService.normalizeCategory(category), k -> new long[2]);
+            cents[0] = Money.add(cents[0], Money.toCents(amount));
+        });
+        for (Object[] row : actualRows) {
+            long[] cents = categories.computeIfAbsent(TransactionRollupService.normalizeCategory((String) row[0]), k -> new long[2]);
+            cents[1] = Money.add(cents[1], Money.toCents((BigDecimal) row[1]));
+        }
+
+        // The elapsed share of the month as the fraction daysElapsed / daysInMonth
+        int daysInMonth = period.lengthOfMonth();
+        int daysElapsed = daysElapsed(period, today);
+
+        BudgetVsActual result = new BudgetVsActual();
+        result.setPeriod(period.toString());
+        result.setElapsedFraction(BigDecimal.valueOf(daysElapsed)
+                .divide(BigDecimal.valueOf(daysInMonth), 6, RoundingMode.HALF_UP));
+        result.setTargetExpenses(budget.getTargetExpenses() != null ? budget.getTargetExpenses().toBigDecimal() : null);
+
+        long totalPlanned = 0;
+        long totalActual = 0;
+        for (Map.Entry<String, long[]> entry : categories.entrySet()) {
+            long planned = entry.getValue()[0];
+            long actual = entry.getValue()[1];
+            totalPlanned = Money.add(totalPlanned, planned);
+            totalActual = Money.add(totalActual, actual);
+            result.getCategories().add(variance(entry.getKey(), planned, actual, daysElapsed, daysInMonth));
+        }
+
+        result.setTotalPlanned(Money.toBigDecimal(totalPlanned));
+        result.setTotalActual(Money.toBigDecimal(totalActual));
+        result.setTotalVariance(Money.toBigDecimal(Money.subtract(totalPlanned, totalActual)));
+        return result;
+    }
+
+    private static CategoryVariance variance(String category, long planned, long actual, int daysElapsed, int daysInMonth) {
+        BigDecimal percentUsed = null;
+        BigDecimal burnRate = null;
+        if (planned > 0) {
+            // Hundredths of a percent, then hundredths of the ratio (actual / planned) / (daysElapsed / daysInMonth)
+            percentUsed = BigDecimal.valueOf(Money.divideHalfUp(Math.multiplyExact(actual, 10_000L), planned), 2);
+            if (daysElapsed > 0) {
+                burnRate = BigDecimal.valueOf(Money.divideHalfUp(
+                        Math.multiplyExact(actual, 100L * daysInMonth), Math.multiplyExact(planned, daysElapsed)), 2);
+            }
+        }
+        long projected = daysElapsed > 0
+                ? Money.divideHalfUp(Math.multiplyExact(actual, daysInMonth), daysElapsed)
+                : actual;
+        return new CategoryVariance(category, Money.toBigDecimal(planned), Money.toBigDecimal(actual),
+                Money.toBigDecimal(Money.subtract(planned, actual)), percentUsed, burnRate, Money.toBigDecimal(projected));
+    }
+
+    /**
+     * Days of the period that have passed: the whole month for past months, none for future ones.
+     */
+    static int daysElapsed(YearMonth period, LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        if (period.isBefore(current)) {
+            return period.lengthOfMonth();
+        }
+        if (period.isAfter(current)) {
+            return 0;
+        }
+        return today.getDayOfMonth();
+    }
+}
@@ -0,0 +1,275 @@
+package com.infosys.budgetwise.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bidirectional intern cache over the {@code categories} table, mapping category names to their integer ids and back.
+ * Ids never change once assigned, so cached entries never go stale; a miss reads the table and a new name is
+ * inserted. Lookups of known names and ids cost a map read. Names are free text, so both directions are bounded to
+ * the {@code categories.dictionary.max-entries} most recently used, and a name found missing by {@link #find} is
+ * remembered as missing for {@code categories.dictionary.negative-ttl} ms, so repeated filters by an unknown name do
+ * not each query the table.
+ * <p>
+ * New names are inserted on a connection of their own, committed at once, rather than in the caller's transaction:
+ * an id cached here must stay valid even if the transaction that first used it rolls back.
+ * <p>
+ * Misses are served by a small pool of their own on the primary database ({@code spring.datasource.*}). A miss can
+ * happen while the caller already holds an application connection, e.g. when Hibernate converts a category during a
+ * flush, so borrowing a second connection from the application pool could deadlock it once every connection is held
+ * by such a caller.
+ */
+@Service
+public class CategoryDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryDictionary.class);
+
+    private static final String SELECT_BY_NAME_SQL = "SELECT id, name FROM categories WHERE name = ?";
+    private static final String SELECT_BY_ID_SQL = "SELECT name FROM categories WHERE id = ?";
+    private static final String INSERT_SQL = "INSERT INTO categories (name) VALUES (?)";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${categories.dictionary.pool-size:2}")
+    private int poolSize;
+
+    @Value("${categories.dictionary.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${categories.dictionary.negative-ttl:5000}")
+    private long negativeTtl;
+
+    private HikariDataSource dataSource;
+
+    // Access-ordered so the least recently used entries are evicted first; guarded by "this"
+    private final Map<String, Integer> idsByName = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private final Map<Integer, String> namesById = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // Names find() did not find, with the time until which they are trusted to be missing; guarded by "this"
+    private final Map<String, Long> missingUntil = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("category-dictionary");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dataSource.close();
+    }
+
+    /**
+     * Id of the category, created if the name is new. Null for a null name.
+     */
+    public Integer idFor(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = cachedId(name);
+        if (id != null) {
+            return id;
+        }
+        misses.increment();
+        Entry entry = resolve(name, true);
+        intern(name, entry);
+        return entry.id();
+    }
+
+    /**
+     * Id of an existing category, without creating one; for filters, where an unknown name simply matches nothing.
+     */
+    public Optional<Integer> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Integer id = cachedId(name);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        if (knownMissing(name)) {
+            negativeHits.increment();
+            return Optional.empty();
+        }
+        misses.increment();
+        Entry entry = resolve(name, false);
+        if (entry == null) {
+            synchronized (this) {
+                missingUntil.put(name, System.currentTimeMillis() + negativeTtl);
+            }
+            return Optional.empty();
+        }
+        intern(name, entry);
+        return Optional.of(entry.id());
+    }
+
+    /**
+     * Name of the category with this id. Null for a null id.
+     */
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name;
+        synchronized (this) {
+            name = namesById.get(id);
+        }
+        if (name != null) {
+            return name;
+        }
+        misses.increment();
+        try (Connection connection = connection();
+             PreparedStatement select = connection.prepareStatement(SELECT_BY_ID_SQL)) {
+            select.setInt(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Unknown category id " + id);
+                }
+                name = rs.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not read category " + id, e);
+        }
+        intern(name, new Entry(id, name));
+        return name;
+    }
+
+    /**
+     * Loads the dictionary, up to the cache bound, so the first requests after a start do not miss one name at a time.
+     */
+    public void preload() {
+        int loaded = 0;
+        try (Connection connection = connection();
+             Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id, name FROM categories")) {
+            while (loaded < maxEntries && rs.next()) {
+                intern(rs.getString(2), new Entry(rs.getInt(1), rs.getString(2)));
+                loaded++;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not load categories", e);
+        }
+        logger.info("Loaded {} categories", loaded);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("categories", namesById.size());
+            stats.put("names", idsByName.size());
+            stats.put("knownMissing", missingUntil.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("misses", misses.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        return stats;
+    }
+
+    /**
+     * Caches the looked-up name and the stored name, which is what reads return. Names are compared in a binary
+     * collation (see {@code TransactionCategoryMigration}), so the two differ at most in trailing spaces.
+     */
+    private synchronized void intern(String name, Entry entry) {
+        idsByName.putIfAbsent(name, entry.id());
+        idsByName.putIfAbsent(entry.name(), entry.id());
+        namesById.putIfAbsent(entry.id(), entry.name());
+        missingUntil.remove(name);
+        missingUntil.remove(entry.name());
+    }
+
+    private synchronized Integer cachedId(String name) {
+        return idsByName.get(name);
+    }
+
+    private synchronized boolean knownMissing(String name) {
+        Long until = missingUntil.get(name);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            missingUntil.remove(name);
+            return false;
+        }
+        return true;
+    }
+
+    private Entry resolve(String name, boolean create) {
+        try (Connection connection = connection()) {
+            Entry entry = select(connection, name);
+            if (entry != null || !create) {
+                return entry;
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    entry = new Entry(keys.getInt(1), name);
+                }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Inserted concurrently by another request or instance
+                entry = select(connection, name);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return entry;
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not resolve category '" + name + "'", e);
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    private static Entry select(Connection connection, String name) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_BY_NAME_SQL)) {
+            select.setString(1, name);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? new Entry(rs.getInt(1), rs.getString(2)) : null;
+            }
+        }
+    }
+
+    private record Entry(int id, String name) {
+    }
+}
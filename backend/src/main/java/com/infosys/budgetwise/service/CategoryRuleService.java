@@ -0,0 +1,228 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.CategoryRuleRequest;
+import com.infosys.budgetwise.repository.CategoryRuleRepository;
+import com.infosys.budgetwise.util.CategoryClassifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Manages categorization rules and hands out their compiled {@link CategoryClassifier}s.
+ * Compiled classifiers are cached, the global one on its own and one per user who has rules of their own,
+ * and are rebuilt lazily after a rule change; between changes categorizing costs no query.
+ */
+@Service
+public class CategoryRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRuleService.class);
+
+    private static final int MAX_PATTERN_LENGTH = 255;
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Value("${category-rules.cache.max-users:10000}")
+    private int maxCachedUsers;
+
+    // Bumped on every rule change; a classifier compiled from rules read before a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedClassifier global;
+
+    // Access-ordered so the least recently used user is evicted first; guarded by "this"
+    private final Map<Long, CachedClassifier> byUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedClassifier> eldest) {
+            return size() > maxCachedUsers;
+        }
+    };
+
+    private final LongAdder compilations = new LongAdder();
+    private final LongAdder categorized = new LongAdder();
+
+    /**
+     * Fills in the category of a transaction that has none from the user's rules. Returns whether a rule matched.
+     */
+    public boolean categorize(User user, Transaction transaction) {
+        if (transaction.getCategory() != null && !transaction.getCategory().isBlank()) {
+            return false;
+        }
+        String category = classifierFor(user).classify(transaction.getDescription(), transaction.getAmount());
+        if (category == null) {
+            return false;
+        }
+        transaction.setCategory(category);
+        categorized.increment();
+        return true;
+    }
+
+    /**
+     * The compiled rules that apply to the user: their own and the global ones.
+     * Callers categorizing many rows, like the bulk import, fetch it once and reuse it.
+     */
+    public CategoryClassifier classifierFor(User user) {
+        long stamp = generation.get();
+        synchronized (this) {
+            CachedClassifier cached = byUser.get(user.getId());
+            if (cached != null && cached.generation() == stamp) {
+                return cached.classifier();
+            }
+        }
+        CategoryClassifier classifier;
+        if (categoryRuleRepository.existsByUser(user)) {
+            classifier = compile(categoryRuleRepository.findApplicable(user));
+        } else {
+            // Users without rules of their own share the global classifier
+            classifier = globalClassifier();
+        }
+        synchronized (this) {
+            if (generation.get() == stamp) {
+                byUser.put(user.getId(), new CachedClassifier(classifier, stamp));
+            }
+        }
+        return classifier;
+    }
+
+    public List<CategoryRule> findForUser(User user) {
+        return categoryRuleRepository.findApplicable(user);
+    }
+
+    public List<CategoryRule> findGlobal() {
+        return categoryRuleRepository.findByUserIsNullOrderById();
+    }
+
+    /**
+     * Creates a rule for the user, or a global rule when the user is null.
+     */
+    public CategoryRule create(User user, CategoryRuleRequest request) {
+        CategoryRule rule = new CategoryRule();
+        rule.setUser(user);
+        rule.setCreatedAt(Instant.now());
+        apply(rule, request);
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        rulesChanged();
+        return saved;
+    }
+
+    /**
+     * Replaces a rule owned by the user, or a global rule when the user is null. Empty when there is no such rule.
+     */
+    public Optional<CategoryRule> update(User user, Long id, CategoryRuleRequest request) {
+        Optional<CategoryRule> rule = findOwned(user, id);
+        rule.ifPresent(existing -> {
+            apply(existing, request);
+            categoryRuleRepository.save(existing);
+            rulesChanged();
+        });
+        return rule;
+    }
+
+    public boolean delete(User user, Long id) {
+        Optional<CategoryRule> rule = findOwned(user, id);
+        rule.ifPresent(existing -> {
+            categoryRuleRepository.delete(existing);
+            rulesChanged();
+        });
+        return rule.isPresent();
+    }
+
+    /**
+     * Drops the cached classifiers; called after rules are changed outside this service, e.g. by the user purge.
+     */
+    public void rulesChanged() {
+        generation.incrementAndGet();
+        synchronized (this) {
+            global = null;
+            byUser.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        CachedClassifier current = global;
+        stats.put("globalRules", current != null ? current.classifier().size() : null);
+        synchronized (this) {
+            stats.put("cachedUsers", byUser.size());
+        }
+        stats.put("compilations", compilations.sum());
+        stats.put("categorized", categorized.sum());
+        return stats;
+    }
+
+    private CategoryClassifier globalClassifier() {
+        long stamp = generation.get();
+        CachedClassifier cached = global;
+        if (cached != null && cached.generation() == stamp) {
+            return cached.classifier();
+        }
+        CategoryClassifier classifier = compile(categoryRuleRepository.findByUserIsNullOrderById());
+        synchronized (this) {
+            if (generation.get() == stamp) {
+                global = new CachedClassifier(classifier, stamp);
+            }
+        }
+        return classifier;
+    }
+
+    private CategoryClassifier compile(List<CategoryRule> rules) {
+        long started = System.nanoTime();
+        CategoryClassifier classifier = new CategoryClassifier(rules);
+        compilations.increment();
+        logger.debug("Compiled {} category rules in {} ms", rules.size(), (System.nanoTime() - started) / 1_000_000);
+        return classifier;
+    }
+
+    private Optional<CategoryRule> findOwned(User user, Long id) {
+        return categoryRuleRepository.findById(id).filter(rule -> user == null
+                ? rule.getUser() == null
+                : rule.getUser() != null && rule.getUser().getId().equals(user.getId()));
+    }
+
+    private static void apply(CategoryRule rule, CategoryRuleRequest request) {
+        if (request.getMatchType() == null) {
+            throw new IllegalArgumentException("matchType is required");
+        }
+        if (request.getCategory() == null || request.getCategory().isBlank()) {
+            throw new IllegalArgumentException("category is required");
+        }
+        String pattern = request.getPattern() != null ? request.getPattern().strip() : null;
+        if (request.getMatchType() == CategoryRule.MatchType.AMOUNT) {
+            if (request.getMinAmount() == null && request.getMaxAmount() == null) {
+                throw new IllegalArgumentException("An AMOUNT rule needs minAmount or maxAmount");
+            }
+            pattern = null;
+        } else if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("pattern is required for " + request.getMatchType() + " rules");
+        } else if (pattern.length() > MAX_PATTERN_LENGTH) {
+            throw new IllegalArgumentException("pattern longer than " + MAX_PATTERN_LENGTH + " characters");
+        }
+        BigDecimal min = request.getMinAmount();
+        BigDecimal max = request.getMaxAmount();
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("minAmount is greater than maxAmount");
+        }
+        rule.setMatchType(request.getMatchType());
+        rule.setPattern(pattern);
+        rule.setMinAmount(min);
+        rule.setMaxAmount(max);
+        rule.setCategory(request.getCategory().strip());
+        rule.setPriority(request.getPriority() != null ? request.getPriority() : 0);
+    }
+
+    private record CachedClassifier(CategoryClassifier classifier, long generation) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.infosys.budgetwise.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory version counter per user, bumped whenever their budgets or transactions change, and used as the ETag of
+ * the read endpoints so an unchanged view is answered 304 without touching the database.
+ * The ETag also carries the start time of this process, since counters restart from zero, and the current month,
+ * since the default views cover the current month.
+ * <p>
+ * Versions are stamps of one process-wide clock rather than per-user counters, so the versions of the most recently
+ * written {@code etag.versions.max-users} users can be kept without the ETag ever going back to an earlier value: an
+ * evicted user reads as the highest stamp evicted so far, which is at least their own last stamp.
+ * <p>
+ * The time of each user's last write is kept as well, for routing their reads to the primary right after it, and
+ * pruned once it is older than the read-your-writes window.
+ */
+@Service
+public class DataVersionService {
+
+    @Value("${etag.versions.max-users:100000}")
+    private int maxUsers;
+
+    @Value("${app.datasource.replica.read-your-writes-window:5000}")
+    private long readYourWritesMillis;
+
+    @Value("${app.datasource.replica.max-lag:2000}")
+    private long maxLagMillis;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    // Guarded by "this"
+    private long clock;
+    private long evictedVersion;
+    private final Map<Long, Long> versions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            if (size() > maxUsers) {
+                evictedVersion = Math.max(evictedVersion, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public String etag(Long userId) {
+        return "\"" + Long.toString(epoch, 36) + "-" + version(userId) + "-" + YearMonth.now() + "\"";
+    }
+
+    /**
+     * Bumps the version of the user once the surrounding transaction commits, or right away outside a transaction.
+     * Bumping before the commit could let a concurrent read cache the old data under the new version.
+     */
+    public void bump(Long userId) {
+        afterCommit(() -> increment(userId));
+    }
+
+    /**
+     * Records a write of the user that the versioned views do not show, such as a profile change, so their reads
+     * still go to the primary for a while and cannot bring back the old row from a lagging replica.
+     */
+    public void written(Long userId) {
+        afterCommit(() -> lastWrites.put(userId, System.currentTimeMillis()));
+    }
+
+    /**
+     * When the user's last write committed, in epoch milliseconds; 0 if they have not written since this process started.
+     */
+    public long lastWriteMillis(Long userId) {
+        return lastWrites.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Drops write times too old to keep any read on the primary; the routing never looks further back than the
+     * read-your-writes window or the tolerated replica lag, whichever is longer.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-window:5000}")
+    public void pruneLastWrites() {
+        long cutoff = System.currentTimeMillis() - Math.max(readYourWritesMillis, maxLagMillis);
+        lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private synchronized long version(Long userId) {
+        Long version = versions.get(userId);
+        return version != null ? version : evictedVersion;
+    }
+
+    private void increment(Long userId) {
+        synchronized (this) {
+            versions.put(userId, ++clock);
+        }
+        lastWrites.put(userId, System.currentTimeMillis());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.RefreshToken;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens, which let clients obtain new access tokens without sending the password
+ * and so without another BCrypt verification. Only the SHA-256 hash of a token is stored; the raw value is
+ * 256 random bits, so a plain unsalted hash is enough and can be looked up through a unique index.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * The user a refresh succeeded for and the refresh token that replaces the presented one.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Starts a new token family for a fresh login and returns the raw token.
+     */
+    @Transactional
+    public String issue(User user) {
+        refreshTokenRepository.deleteExpired(user, Instant.now());
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     * Throws {@link BadCredentialsException} if the token is unknown, expired or already used; reuse also revokes
+     * every token of the family, logging out both the legitimate client and whoever replayed the token.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        Instant now = Instant.now();
+        if (token.getRevokedAt() != null || refreshTokenRepository.markRevoked(token.getId(), now) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family", token.getUser().getId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+        User user = userCacheService.findById(token.getUser().getId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return new Rotation(user, create(user, token.getFamilyId()));
+    }
+
+    /**
+     * Revokes the family of the given token, ending that login session. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Revokes every refresh token of the user, e.g. after a password change.
+     */
+    @Transactional
+    public int revokeAll(User user) {
+        return refreshTokenRepository.revokeAllForUser(user, Instant.now());
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusMillis(refreshExpiration));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
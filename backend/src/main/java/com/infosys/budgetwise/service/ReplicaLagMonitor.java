@@ -0,0 +1,133 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.config.ReplicaRoutingConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures replication lag with a heartbeat: the current time is written to {@code replica_heartbeats} on the primary
+ * and read back from the replica, whose copy is as old as the replication delay (plus up to one interval).
+ * Read-only transactions are only routed to the replica while the measured lag is within the tolerance; a replica
+ * that cannot be reached or has not received a heartbeat yet counts as lagging.
+ * Active only when replica routing is enabled.
+ */
+@Service
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int HEARTBEAT_ID = 1;
+
+    @Autowired
+    @Qualifier(ReplicaRoutingConfig.PRIMARY_DATA_SOURCE)
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier(ReplicaRoutingConfig.REPLICA_DATA_SOURCE)
+    private DataSource replicaDataSource;
+
+    @Value("${app.datasource.replica.max-lag:2000}")
+    private long maxLagMillis;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+    private volatile Instant checkedAt;
+    private volatile String lastError;
+
+    @PostConstruct
+    public void init() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval:1000}",
+            initialDelayString = "${app.datasource.replica.heartbeat-interval:1000}")
+    public void run() {
+        try {
+            beat();
+        } catch (DataAccessException e) {
+            logger.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+        check();
+    }
+
+    /**
+     * Writes the current time to the primary.
+     */
+    public void beat() {
+        long now = System.currentTimeMillis();
+        if (primary.update("UPDATE replica_heartbeats SET beat_at = ? WHERE id = ?", now, HEARTBEAT_ID) == 0) {
+            primary.update("INSERT INTO replica_heartbeats (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, now);
+        }
+    }
+
+    /**
+     * Reads the heartbeat back from the replica and decides whether reads may go there.
+     */
+    public void check() {
+        boolean usable = false;
+        long lag = -1;
+        String error = null;
+        try {
+            List<Long> beats = replica.queryForList(
+                    "SELECT beat_at FROM replica_heartbeats WHERE id = ?", Long.class, HEARTBEAT_ID);
+            if (beats.isEmpty()) {
+                error = "No heartbeat has reached the replica yet";
+            } else {
+                lag = Math.max(0, System.currentTimeMillis() - beats.get(0));
+                usable = lag <= maxLagMillis;
+            }
+        } catch (DataAccessException e) {
+            error = e.getMessage();
+        }
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Routing read-only transactions to the replica, lag {} ms", lag);
+            } else {
+                logger.warn("Routing read-only transactions to the primary, replica lag {} ms exceeds {} ms{}",
+                        lag, maxLagMillis, error != null ? " (" + error + ")" : "");
+            }
+        }
+        lagMillis = lag;
+        lastError = error;
+        checkedAt = Instant.now();
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("replicaUsable", replicaUsable);
+        status.put("lagMillis", lagMillis >= 0 ? lagMillis : null);
+        status.put("maxLagMillis", maxLagMillis);
+        status.put("checkedAt", checkedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+}
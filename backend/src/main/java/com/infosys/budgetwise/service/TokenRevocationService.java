@@ -0,0 +1,75 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects stateless tokens that belong to deleted users.
+ * A user id that was found in the database is trusted for {@code jwt.revocation-check-ttl} milliseconds,
+ * so an active user costs at most one existence query per window. A TTL of 0 disables the check.
+ * A revocation is kept for {@code jwt.expiration} milliseconds, after which every token issued before it has expired.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.revocation-check-ttl:0}")
+    private long revocationCheckTtl;
+
+    @Value("${jwt.expiration}")
+    private long tokenLifetime;
+
+    private final Map<Long, Long> verifiedUntil = new ConcurrentHashMap<>();
+    // User id -> time after which no token issued before the revocation is still valid
+    private final Map<Long, Long> revokedUntil = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(Long userId) {
+        Long revoked = revokedUntil.get(userId);
+        if (revoked != null) {
+            if (revoked > System.currentTimeMillis()) {
+                return true;
+            }
+            revokedUntil.remove(userId, revoked);
+        }
+        if (revocationCheckTtl <= 0) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Long until = verifiedUntil.get(userId);
+        if (until != null && until > now) {
+            return false;
+        }
+
+        if (!userRepository.existsById(userId)) {
+            verifiedUntil.remove(userId);
+            return true;
+        }
+        if (verifiedUntil.size() >= MAX_TRACKED_USERS) {
+            verifiedUntil.clear();
+        }
+        verifiedUntil.put(userId, now + revocationCheckTtl);
+        return false;
+    }
+
+    public void revoke(Long userId) {
+        revokedUntil.put(userId, System.currentTimeMillis() + tokenLifetime);
+        verifiedUntil.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.expiration}")
+    public void pruneRevocations() {
+        long now = System.currentTimeMillis();
+        revokedUntil.values().removeIf(until -> until <= now);
+    }
+}
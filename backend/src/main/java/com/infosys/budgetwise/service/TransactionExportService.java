@@ -0,0 +1,147 @@
+package com.infosys.budgetwise.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.budgetwise.util.Csv;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Streams a user's full transaction history to the response in keyset pages over (date, id).
+ * Each page is read with its own query and written out after the connection has gone back to the pool, so a slow
+ * client never holds a connection while the response is flushed. Only scalar columns are read and no entities are
+ * created, so heap use is bounded by the page size rather than the number of rows.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String FIRST_PAGE_SQL =
+            "SELECT id, date, description, category_id, type, amount FROM transactions WHERE user_id = ? "
+                    + "ORDER BY date, id LIMIT ?";
+
+    // Served by the (user_id, date, id) index, so a page costs the same however far into the history it is
+    private static final String NEXT_PAGE_SQL =
+            "SELECT id, date, description, category_id, type, amount FROM transactions WHERE user_id = ? "
+                    + "AND (date > ? OR (date = ? AND id > ?)) ORDER BY date, id LIMIT ?";
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    // Rows per page; each page is flushed to the client once written
+    @Value("${transactions.export.flush-rows:500}")
+    private int flushRows;
+
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.NDJSON) {
+            exportNdjson(userId, writer);
+        } else {
+            exportCsv(userId, writer);
+        }
+        writer.flush();
+    }
+
+    private void exportCsv(Long userId, Writer writer) throws IOException {
+        writer.write("id,date,description,category,type,amount\n");
+        // Send the header right away so the client sees the first bytes before the query returns
+        writer.flush();
+
+        List<ExportRow> page = firstPage(userId);
+        while (!page.isEmpty()) {
+            for (ExportRow row : page) {
+                writer.write(Long.toString(row.id()));
+                writer.write(',');
+                writer.write(row.date() != null ? row.date().toString() : "");
+                writer.write(',');
+                writer.write(Csv.escape(row.description()));
+                writer.write(',');
+                writer.write(Csv.escape(categoryName(row)));
+                writer.write(',');
+                writer.write(Csv.escape(row.type()));
+                writer.write(',');
+                writer.write(row.amount() != null ? row.amount().toPlainString() : "");
+                writer.write('\n');
+            }
+            writer.flush();
+            page = nextPage(userId, page);
+        }
+    }
+
+    private void exportNdjson(Long userId, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // The generator must not close the response stream when it is done
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        List<ExportRow> page = firstPage(userId);
+        while (!page.isEmpty()) {
+            for (ExportRow row : page) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                generator.writeStringField("date", row.date() != null ? row.date().toString() : null);
+                generator.writeStringField("description", row.description());
+                generator.writeStringField("category", categoryName(row));
+                generator.writeStringField("type", row.type());
+                generator.writeNumberField("amount", row.amount());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            page = nextPage(userId, page);
+        }
+        generator.flush();
+    }
+
+    private List<ExportRow> firstPage(Long userId) {
+        return jdbcTemplate.query(FIRST_PAGE_SQL, TransactionExportService::mapRow, userId, flushRows);
+    }
+
+    // A short page is the last one; otherwise continue strictly after its last row
+    private List<ExportRow> nextPage(Long userId, List<ExportRow> page) {
+        if (page.size() < flushRows) {
+            return List.of();
+        }
+        ExportRow last = page.get(page.size() - 1);
+        Date date = Date.valueOf(last.date());
+        return jdbcTemplate.query(NEXT_PAGE_SQL, TransactionExportService::mapRow, userId, date, date, last.id(), flushRows);
+    }
+
+    private static ExportRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Date date = rs.getDate(2);
+        int categoryId = rs.getInt(4);
+        return new ExportRow(rs.getLong(1), date != null ? date.toLocalDate() : null, rs.getString(3),
+                rs.wasNull() ? null : categoryId, rs.getString(5), rs.getBigDecimal(6));
+    }
+
+    // Category ids resolve through the in-memory dictionary rather than a join per row
+    private String categoryName(ExportRow row) {
+        return row.categoryId() == null ? null : categoryDictionary.nameOf(row.categoryId());
+    }
+
+    private record ExportRow(long id, LocalDate date, String description, Integer categoryId, String type, BigDecimal amount) {
+    }
+}
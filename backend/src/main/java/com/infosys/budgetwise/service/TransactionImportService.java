@@ -0,0 +1,240 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.ImportResult;
+import com.infosys.budgetwise.util.CategoryClassifier;
+import com.infosys.budgetwise.util.CsvTransactionReader;
+import com.infosys.budgetwise.util.ImportRow;
+import com.infosys.budgetwise.util.OfxTransactionReader;
+import com.infosys.budgetwise.util.TransactionRecordReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports bank exports straight into the transactions table.
+ * Rows are parsed one at a time from the request stream and written with JDBC batch inserts, one database
+ * transaction per batch, with the monthly rollups of each batch updated in that same transaction.
+ * An import is therefore not all-or-nothing: if it fails part-way, the committed batches stay and the result is
+ * returned marked aborted, with the accepted count and the first line that was not imported.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+    // Largest amount the DECIMAL(10,2) amount column holds; a larger one would fail the whole batch
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (user_id, description, amount, category_id, date, type) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum Format {
+        CSV, OFX
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Value("${transactions.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportResult importTransactions(User user, InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        ImportResult result = new ImportResult();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        TransactionRecordReader records = format == Format.OFX
+                ? new OfxTransactionReader(reader)
+                : new CsvTransactionReader(reader);
+
+        // Compiled once for the whole file; rows without a category are categorized in one pass over their description
+        CategoryClassifier classifier = categoryRuleService.classifierFor(user);
+
+        List<ValidRow> batch = new ArrayList<>(batchSize);
+        try {
+            ImportRow row;
+            while ((row = records.next()) != null) {
+                ValidRow valid = validate(row, classifier, result);
+                if (valid == null) {
+                    continue;
+                }
+                batch.add(valid);
+                if (batch.size() >= batchSize) {
+                    writeBatch(user, batch, transactionTemplate);
+                    result.setAccepted(result.getAccepted() + batch.size());
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(user, batch, transactionTemplate);
+                result.setAccepted(result.getAccepted() + batch.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Earlier batches stay committed; the result says how far the import got so a retry can resume there
+            result.setAborted(true);
+            result.setFailedLine(!batch.isEmpty() ? batch.get(0).lineNumber() : records.position());
+            result.setAbortReason(e.getMessage());
+            logger.error("Import for user {} aborted at line {} after {} accepted rows",
+                    user.getId(), result.getFailedLine(), result.getAccepted(), e);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getAccepted() * 1_000_000_000.0 / elapsedNanos);
+        logger.info("Imported {} transactions for user {} ({} rejected) in {} ms",
+                result.getAccepted(), user.getId(), result.getRejected(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void writeBatch(User user, List<ValidRow> batch, TransactionTemplate transactionTemplate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                ps.setLong(1, user.getId());
+                ps.setString(2, row.description());
+                ps.setBigDecimal(3, row.amount());
+                ps.setObject(4, categoryDictionary.idFor(row.category()), Types.INTEGER);
+                ps.setDate(5, Date.valueOf(row.date()));
+                ps.setString(6, row.type().name());
+            });
+
+            // One rollup update per (month, category, type) in the batch rather than one per row
+            Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+            for (ValidRow row : batch) {
+                RollupKey key = new RollupKey(YearMonth.from(row.date()), TransactionRollupService.normalizeCategory(row.category()), row.type());
+                deltas.computeIfAbsent(key, k -> new RollupDelta()).add(row.amount());
+            }
+            deltas.forEach((key, delta) -> transactionRollupService.apply(user, key.period().atDay(1), key.category(),
+                    key.type(), Money.toBigDecimal(delta.cents), delta.count));
+            // Rows are not reported one by one; the next search rebuilds the user's index
+            transactionSearchService.invalidate(user.getId());
+            dataVersionService.bump(user.getId());
+        });
+    }
+
+    private ValidRow validate(ImportRow row, CategoryClassifier classifier, ImportResult result) {
+        if (row.date() == null) {
+            return reject(row, "missing date", result);
+        }
+        if (row.amount() == null) {
+            return reject(row, "missing amount", result);
+        }
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(row.date());
+        } catch (DateTimeParseException e) {
+            return reject(row, "invalid date '" + row.date() + "'", result);
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(row.amount().replace(",", "")).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return reject(row, "invalid amount '" + row.amount() + "'", result);
+        }
+
+        TransactionType type;
+        if (row.type() != null) {
+            try {
+                type = TransactionType.valueOf(row.type().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return reject(row, "invalid type '" + row.type() + "'", result);
+            }
+        } else {
+            // Bank exports sign the amount instead of naming the type
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+        amount = amount.abs();
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            return reject(row, "amount larger than " + MAX_AMOUNT.toPlainString(), result);
+        }
+
+        if (row.description() != null && row.description().length() > MAX_TEXT_LENGTH) {
+            return reject(row, "description longer than " + MAX_TEXT_LENGTH + " characters", result);
+        }
+        if (row.category() != null && row.category().length() > MAX_TEXT_LENGTH) {
+            return reject(row, "category longer than " + MAX_TEXT_LENGTH + " characters", result);
+        }
+
+        String category = row.category();
+        if (category == null || category.isBlank()) {
+            category = classifier.classify(row.description(), amount);
+            if (category != null) {
+                result.setCategorized(result.getCategorized() + 1);
+            }
+        }
+
+        return new ValidRow(row.lineNumber(), date, row.description(), amount, category, type);
+    }
+
+    private static ValidRow reject(ImportRow row, String reason, ImportResult result) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("Row " + row.lineNumber() + ": " + reason);
+        }
+        return null;
+    }
+
+    private record ValidRow(long lineNumber, LocalDate date, String description, BigDecimal amount, String category, TransactionType type) {
+    }
+
+    private record RollupKey(YearMonth period, String category, TransactionType type) {
+    }
+
+    private static final class RollupDelta {
+        private long cents;
+        private long count;
+
+        void add(BigDecimal amount) {
+            cents = Money.add(cents, Money.toCents(amount));
+            count++;
+        }
+    }
+}
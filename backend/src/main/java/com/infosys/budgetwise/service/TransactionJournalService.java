@@ -0,0 +1,576 @@
+package com.infosys.budgetwise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind ingestion for new transactions, enabled with {@code transactions.ingest.mode=journal}.
+ * <p>
+ * A request appends its transaction to a local append-only journal and is acknowledged once the line is fsynced.
+ * A single writer thread drains every append that queued up during the previous fsync and forces them together,
+ * so concurrent requests share one fsync (group commit). A background flusher then inserts pending entries into the
+ * transactions table in JDBC batches, updating the rollups and the checkpoint row in the same database transaction.
+ * <p>
+ * Each journal line is {@code <crc32 hex> <json>}. On startup every segment is scanned, entries after the
+ * checkpoint become pending again and a torn last line is truncated away. Segments entirely below the checkpoint
+ * are deleted. Until an entry is flushed it is only visible through {@link #pendingTransactions(Long)}, which the
+ * read endpoints merge into the user's own results.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.ingest.mode", havingValue = "journal")
+public class TransactionJournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionJournalService.class);
+
+    private static final String JOURNAL_NAME = "transactions";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (user_id, description, amount, category_id, date, type) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * One journalled transaction. The sequence orders entries across segments and restarts.
+     */
+    public record JournalEntry(long sequence, long userId, String description, BigDecimal amount, String category,
+                               LocalDate date, TransactionType type) {
+    }
+
+    /**
+     * A queued append. The caller may cancel it only until the writer takes it; a taken append is always written,
+     * so the caller then waits for the outcome instead of reporting a failure the client would retry.
+     */
+    private static final class Append {
+        private static final int QUEUED = 0;
+        private static final int TAKEN = 1;
+        private static final int CANCELLED = 2;
+
+        private final JournalEntry entry;
+        private final CompletableFuture<JournalEntry> written = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Append(JournalEntry entry) {
+            this.entry = entry;
+        }
+
+        boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+
+    private record RollupKey(long userId, YearMonth period, String category, TransactionType type) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Value("${transactions.ingest.journal.dir:data/journal}")
+    private String journalDir;
+
+    @Value("${transactions.ingest.journal.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${transactions.ingest.journal.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${transactions.ingest.journal.ack-timeout:5000}")
+    private long ackTimeout;
+
+    @Value("${transactions.ingest.flush-interval:200}")
+    private long flushInterval;
+
+    @Value("${transactions.ingest.batch-size:1000}")
+    private int batchSize;
+
+    private BlockingQueue<Append> appendQueue;
+    private final ConcurrentSkipListMap<Long, JournalEntry> pending = new ConcurrentSkipListMap<>();
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    private Path directory;
+    private FileChannel activeChannel;
+    private long activeSize;
+    private long nextSequence;
+    private volatile boolean running;
+
+    private Thread writerThread;
+    private ScheduledExecutorService flusher;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() throws IOException {
+        directory = Paths.get(journalDir).toAbsolutePath();
+        Files.createDirectories(directory);
+        appendQueue = new LinkedBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long checkpoint = readCheckpoint();
+        nextSequence = recover(checkpoint) + 1;
+        openSegment(nextSequence);
+        logger.info("Transaction journal at {} recovered {} pending entries after checkpoint {}", directory, pending.size(), checkpoint);
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends the transaction to the journal and waits until it is durable on disk.
+     * The returned copy carries the negated journal sequence as its id until it has been flushed.
+     */
+    public Transaction append(User user, Transaction transaction) {
+        if (!running) {
+            throw new IllegalStateException("Transaction journal is not accepting writes");
+        }
+        // Categorized before journalling, so replay and the flusher see the final category
+        categoryRuleService.categorize(user, transaction);
+        JournalEntry entry = new JournalEntry(0, user.getId(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getCategory(), transaction.getDate(), transaction.getType());
+        Append append = new Append(entry);
+        if (!appendQueue.offer(append)) {
+            throw new IllegalStateException("Transaction journal queue is full");
+        }
+        JournalEntry written;
+        try {
+            written = append.written.get(ackTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (append.cancel()) {
+                throw new IllegalStateException("Interrupted while waiting for the journal", e);
+            }
+            written = awaitTaken(append);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Journal write failed", e.getCause());
+        } catch (TimeoutException e) {
+            if (append.cancel()) {
+                throw new IllegalStateException("Journal write timed out", e);
+            }
+            written = awaitTaken(append);
+        }
+        // Pending entries are part of the user's reads from now on
+        dataVersionService.bump(user.getId());
+        return toTransaction(written);
+    }
+
+    /**
+     * Waits, without a timeout and ignoring interrupts, for an append the writer has already taken.
+     * It is being forced to disk and will be flushed, so failing the request would only invite a duplicate retry.
+     */
+    private static JournalEntry awaitTaken(Append append) {
+        try {
+            return append.written.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Journal write failed", e.getCause());
+        }
+    }
+
+    /**
+     * Journalled transactions of the user that are not yet in the transactions table, oldest first.
+     */
+    public List<Transaction> pendingTransactions(Long userId) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (JournalEntry entry : pending.values()) {
+            if (entry.userId() == userId) {
+                transactions.add(toTransaction(entry));
+            }
+        }
+        return transactions;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("pending", pending.size());
+        status.put("queued", appendQueue.size());
+        status.put("nextSequence", nextSequence);
+        synchronized (segments) {
+            status.put("segments", segments.size());
+        }
+        return status;
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>();
+        while (running || !appendQueue.isEmpty()) {
+            try {
+                Append first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                // Everything that queued up while the previous group was being forced shares this fsync
+                appendQueue.drainTo(group);
+                // Appends whose caller gave up before this point are dropped, never written
+                group.removeIf(append -> !append.take());
+                if (!group.isEmpty()) {
+                    writeGroup(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void writeGroup(List<Append> group) {
+        List<JournalEntry> written = new ArrayList<>(group.size());
+        long groupStartSize = activeSize;
+        long groupStartSequence = nextSequence;
+        try {
+            for (Append append : group) {
+                JournalEntry source = append.entry;
+                JournalEntry entry = new JournalEntry(nextSequence++, source.userId(), source.description(),
+                        source.amount(), source.category(), source.date(), source.type());
+                ByteBuffer line = ByteBuffer.wrap(encode(entry));
+                while (line.hasRemaining()) {
+                    activeSize += activeChannel.write(line);
+                }
+                written.add(entry);
+            }
+            activeChannel.force(false);
+        } catch (IOException e) {
+            logger.error("Journal write of {} entries failed", group.size(), e);
+            // None of the group was acknowledged, so it must not come back on replay either
+            try {
+                activeChannel.truncate(groupStartSize);
+                activeSize = groupStartSize;
+                nextSequence = groupStartSequence;
+            } catch (IOException truncateFailure) {
+                logger.error("Could not discard the failed journal group", truncateFailure);
+            }
+            for (Append append : group) {
+                append.written.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            JournalEntry entry = written.get(i);
+            pending.put(entry.sequence(), entry);
+            group.get(i).written.complete(entry);
+        }
+        if (activeSize >= segmentBytes) {
+            try {
+                activeChannel.close();
+                openSegment(nextSequence);
+            } catch (IOException e) {
+                logger.error("Could not roll journal segment", e);
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Entries stay pending and are retried on the next run
+            logger.error("Journal flush failed, {} entries remain pending", pending.size(), e);
+        }
+    }
+
+    /**
+     * Writes pending entries to the database in batches, oldest first.
+     */
+    void flush() {
+        while (!pending.isEmpty()) {
+            List<JournalEntry> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (JournalEntry entry : pending.values()) {
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            writeBatch(batch);
+            // Removed only after the commit; a read in between may briefly see an entry twice, never not at all
+            Set<Long> userIds = new HashSet<>();
+            for (JournalEntry entry : batch) {
+                pending.remove(entry.sequence());
+                userIds.add(entry.userId());
+            }
+            // Flushed entries are read from the table with their real ids from now on
+            userIds.forEach(transactionSearchService::invalidate);
+            userIds.forEach(dataVersionService::bump);
+            deleteFlushedSegments(batch.get(batch.size() - 1).sequence());
+        }
+    }
+
+    private void writeBatch(List<JournalEntry> batch) {
+        Set<Long> userIds = new HashSet<>();
+        for (JournalEntry entry : batch) {
+            userIds.add(entry.userId());
+        }
+        long lastSequence = batch.get(batch.size() - 1).sequence();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Entries of users purged since they were journalled are dropped
+            Set<Long> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE id IN (:ids)", new MapSqlParameterSource("ids", userIds), Long.class));
+            List<JournalEntry> rows = batch.stream().filter(entry -> existing.contains(entry.userId())).toList();
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, entry) -> {
+                ps.setLong(1, entry.userId());
+                ps.setString(2, entry.description());
+                ps.setBigDecimal(3, entry.amount());
+                ps.setObject(4, categoryDictionary.idFor(entry.category()), Types.INTEGER);
+                ps.setDate(5, entry.date() != null ? Date.valueOf(entry.date()) : null);
+                ps.setString(6, entry.type() != null ? entry.type().name() : null);
+            });
+
+            Map<RollupKey, long[]> deltas = new HashMap<>();
+            for (JournalEntry entry : rows) {
+                if (entry.date() == null || entry.type() == null || entry.amount() == null) {
+                    continue;
+                }
+                RollupKey key = new RollupKey(entry.userId(), YearMonth.from(entry.date()),
+                        TransactionRollupService.normalizeCategory(entry.category()), entry.type());
+                long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+                delta[0] = Money.add(delta[0], Money.toCents(entry.amount()));
+                delta[1]++;
+            }
+            deltas.forEach((key, delta) -> {
+                User user = new User();
+                user.setId(key.userId());
+                transactionRollupService.apply(user, key.period().atDay(1), key.category(), key.type(),
+                        Money.toBigDecimal(delta[0]), delta[1]);
+            });
+
+            jdbcTemplate.update("UPDATE journal_checkpoints SET last_sequence = ? WHERE journal = ?", lastSequence, JOURNAL_NAME);
+        });
+    }
+
+    private long readCheckpoint() {
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+                "SELECT last_sequence FROM journal_checkpoints WHERE journal = ?", Long.class, JOURNAL_NAME);
+        if (checkpoint.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO journal_checkpoints (journal, last_sequence) VALUES (?, 0)", JOURNAL_NAME);
+            return 0;
+        }
+        return checkpoint.get(0);
+    }
+
+    /**
+     * Loads the entries after the checkpoint into the pending set and returns the highest sequence seen.
+     */
+    private long recover(long checkpoint) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        long highest = checkpoint;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            boolean last = segment.getKey().equals(segments.lastKey());
+            highest = Math.max(highest, recoverSegment(segment.getValue(), checkpoint, last));
+        }
+        deleteFlushedSegments(checkpoint);
+        return highest;
+    }
+
+    private long recoverSegment(Path file, long checkpoint, boolean last) throws IOException {
+        long highest = 0;
+        long validBytes = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JournalEntry entry = decode(line);
+                if (entry == null) {
+                    break;
+                }
+                validBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                highest = entry.sequence();
+                if (entry.sequence() > checkpoint) {
+                    pending.put(entry.sequence(), entry);
+                }
+            }
+        }
+        if (validBytes < Files.size(file)) {
+            if (!last) {
+                throw new IllegalStateException("Corrupt journal segment " + file + " at byte " + validBytes);
+            }
+            // A crash mid-write leaves a partial line that was never acknowledged
+            logger.warn("Truncating torn tail of journal segment {} at byte {}", file, validBytes);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return highest;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        activeChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = activeChannel.size();
+        synchronized (segments) {
+            segments.put(firstSequence, file);
+        }
+    }
+
+    /**
+     * Deletes every segment whose entries are all at or below the flushed sequence, except the active one.
+     */
+    private void deleteFlushedSegments(long flushedSequence) {
+        synchronized (segments) {
+            while (segments.size() > 1) {
+                Map.Entry<Long, Path> oldest = segments.firstEntry();
+                Long nextStart = segments.higherKey(oldest.getKey());
+                if (nextStart == null || nextStart - 1 > flushedSequence) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(oldest.getValue());
+                } catch (IOException e) {
+                    logger.warn("Could not delete flushed journal segment {}", oldest.getValue(), e);
+                    return;
+                }
+                segments.remove(oldest.getKey());
+            }
+        }
+    }
+
+    private byte[] encode(JournalEntry entry) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entry);
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            byte[] prefix = String.format("%08x ", crc.getValue()).getBytes(StandardCharsets.US_ASCII);
+            byte[] line = new byte[prefix.length + json.length + 1];
+            System.arraycopy(prefix, 0, line, 0, prefix.length);
+            System.arraycopy(json, 0, line, prefix.length, json.length);
+            line[line.length - 1] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a journal line, or returns null if it is incomplete or fails its checksum.
+     */
+    private JournalEntry decode(String line) {
+        if (line.length() < 10 || line.charAt(8) != ' ') {
+            return null;
+        }
+        try {
+            byte[] json = line.substring(9).getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            if (crc.getValue() != Long.parseLong(line.substring(0, 8), 16)) {
+                return null;
+            }
+            return objectMapper.readValue(json, JournalEntry.class);
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Transaction toTransaction(JournalEntry entry) {
+        Transaction transaction = new Transaction();
+        transaction.setId(-entry.sequence());
+        transaction.setDescription(entry.description());
+        transaction.setAmount(entry.amount());
+        transaction.setCategory(entry.category());
+        transaction.setDate(entry.date());
+        transaction.setType(entry.type());
+        return transaction;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushSafely();
+        activeChannel.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.TransactionDto;
+import com.infosys.budgetwise.payload.TransactionPage;
+import com.infosys.budgetwise.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class TransactionQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Bounds of the MySQL DATE type, used when the caller leaves the range open
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Transactional(readOnly = true)
+    public TransactionPage findPage(User user, LocalDate from, LocalDate to, String category, TransactionType type,
+                                    String cursor, Integer size) {
+        LocalDate rangeStart = from != null ? from : MIN_DATE;
+        LocalDate rangeEnd = to != null ? to : MAX_DATE;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDate cursorDate = rangeEnd;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            cursorDate = LocalDate.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        Integer categoryId = null;
+        if (category != null) {
+            Optional<Integer> known = categoryDictionary.find(category);
+            // A name that was never used cannot match any transaction
+            if (known.isEmpty()) {
+                return new TransactionPage(List.of(), null);
+            }
+            categoryId = known.get();
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TransactionDto> rows = transactionRepository.findPageBefore(user, rangeStart, rangeEnd,
+                categoryId, type, cursorDate, cursorId, PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TransactionDto last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getDate(), last.getId());
+        }
+        return new TransactionPage(rows, nextCursor);
+    }
+
+    private static String encodeCursor(LocalDate date, Long id) {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,120 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionRollup;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.CategorySummary;
+import com.infosys.budgetwise.repository.TransactionRepository;
+import com.infosys.budgetwise.repository.TransactionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the per-user monthly rollups in step with the transactions table.
+ * Every write runs inside the caller's transaction, so a rollup change commits or rolls back together with the row change.
+ */
+@Service
+public class TransactionRollupService {
+
+    public static final String UNCATEGORIZED = "Uncategorized";
+
+    // Same format as YearMonthAttributeConverter, for the native upsert
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        apply(transaction.getUser(), transaction.getDate(), transaction.getCategory(), transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction transaction) {
+        remove(transaction.getUser(), transaction.getDate(), transaction.getCategory(), transaction.getType(), transaction.getAmount());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(User user, LocalDate date, String category, TransactionType type, BigDecimal amount) {
+        if (amount != null) {
+            apply(user, date, category, type, amount.negate(), -1);
+        }
+    }
+
+    /**
+     * Adds {@code amount} and {@code count} to the rollup for the month of {@code date}, creating it if needed.
+     * A single upsert, so concurrent first writes to the same rollup neither fail on the unique key nor deadlock.
+     * Transactions without a date, amount or type are not rolled up.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(User user, LocalDate date, String category, TransactionType type, BigDecimal amount, long count) {
+        if (date == null || type == null || amount == null) {
+            return;
+        }
+        rollupRepository.upsert(user.getId(), YearMonth.from(date).format(PERIOD_FORMAT), normalizeCategory(category),
+                type.name(), amount, count);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySummary> getMonthlySummary(User user, YearMonth period) {
+        List<CategorySummary> summaries = new ArrayList<>();
+        for (TransactionRollup rollup : rollupRepository.findByUserAndPeriod(user, period)) {
+            if (rollup.getTransactionCount() > 0) {
+                summaries.add(new CategorySummary(rollup.getCategory(), rollup.getType(), rollup.getTotal(), rollup.getTransactionCount()));
+            }
+        }
+        summaries.sort(Comparator.comparing(CategorySummary::getType).thenComparing(CategorySummary::getCategory));
+        return summaries;
+    }
+
+    /**
+     * Recomputes all rollups of a user from the transactions table, discarding any drift.
+     * Returns the number of rollup rows written.
+     */
+    @Transactional
+    public int rebuild(User user) {
+        rollupRepository.deleteByUser(user);
+
+        Map<RollupKey, TransactionRollup> rollups = new HashMap<>();
+        for (Object[] row : transactionRepository.sumByMonthCategoryAndType(user)) {
+            YearMonth period = YearMonth.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue());
+            RollupKey key = new RollupKey(period, normalizeCategory((String) row[0]), (TransactionType) row[1]);
+            TransactionRollup rollup = rollups.computeIfAbsent(key, k -> {
+                TransactionRollup created = new TransactionRollup();
+                created.setUser(user);
+                created.setPeriod(k.period());
+                created.setCategory(k.category());
+                created.setType(k.type());
+                created.setTotal(BigDecimal.ZERO);
+                return created;
+            });
+            rollup.setTotal(rollup.getTotal().add((BigDecimal) row[4]));
+            rollup.setTransactionCount(rollup.getTransactionCount() + ((Number) row[5]).longValue());
+        }
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    public static String normalizeCategory(String category) {
+        return category == null || category.isBlank() ? UNCATEGORIZED : category.trim();
+    }
+
+    private record RollupKey(YearMonth period, String category, TransactionType type) {
+    }
+}
@@ -0,0 +1,519 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.payload.SearchHit;
+import com.infosys.budgetwise.payload.TransactionSearchResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over transaction descriptions and categories, partitioned per user.
+ * A partition is built from the table on the user's first search and then kept current by the single-row write paths,
+ * which report each committed add, update and delete; bulk writes (imports, journal flushes, purges) drop the
+ * partition instead and the next search rebuilds it. Partitions are held through soft references, so the garbage
+ * collector releases them under memory pressure.
+ * <p>
+ * Every query token must match, either a whole indexed token or, from two characters on, a prefix of one.
+ * Hits are ranked by a BM25-style score, then newest first.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+
+    private static final String LOAD_SQL = "SELECT id, date, description, category_id FROM transactions WHERE user_id = ?";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // A category names what the transaction is, so a hit there outweighs one word of the description
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final float K1 = 1.2f;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result set
+    @Value("${transactions.search.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Value("${transactions.search.max-results:100}")
+    private int maxResults;
+
+    // Upper bound on the indexed tokens one short prefix may expand to
+    @Value("${transactions.search.max-prefix-terms:256}")
+    private int maxPrefixTerms;
+
+    private JdbcTemplate streamingJdbcTemplate;
+
+    private final Map<Long, PartitionRef> partitions = new ConcurrentHashMap<>();
+    private final ReferenceQueue<UserIndex> collected = new ReferenceQueue<>();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public TransactionSearchResult search(Long userId, String query, Integer limit) {
+        long started = System.nanoTime();
+        searches.increment();
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        int resultLimit = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+
+        TransactionSearchResult result = new TransactionSearchResult();
+        result.setQuery(query);
+        if (!tokens.isEmpty()) {
+            while (true) {
+                UserIndex index = partition(userId);
+                index.lock.readLock().lock();
+                try {
+                    // Built by another thread whose load failed; that partition is gone, so build a new one
+                    if (!index.ready) {
+                        continue;
+                    }
+                    index.search(tokens, resultLimit, maxPrefixTerms, result);
+                } finally {
+                    index.lock.readLock().unlock();
+                }
+                break;
+            }
+        }
+        result.setTookMicros((System.nanoTime() - started) / 1_000);
+        return result;
+    }
+
+    /**
+     * Adds or replaces the transaction in its user's partition once the surrounding transaction commits.
+     */
+    public void indexed(Transaction transaction) {
+        if (transaction.getId() == null || transaction.getUser() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        long id = transaction.getId();
+        LocalDate date = transaction.getDate();
+        String description = transaction.getDescription();
+        String category = transaction.getCategory();
+        afterCommit(() -> update(userId, index -> index.put(id, date, description, category)));
+    }
+
+    /**
+     * Takes the transaction out of its user's partition once the surrounding transaction commits.
+     */
+    public void removed(Long userId, Long transactionId) {
+        afterCommit(() -> update(userId, index -> index.remove(transactionId)));
+    }
+
+    /**
+     * Drops the user's partition once the surrounding transaction commits, for writes that are not reported row by row.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> partitions.remove(userId));
+    }
+
+    public Map<String, Object> getStats() {
+        drainCollected();
+        int loaded = 0;
+        long documents = 0;
+        long terms = 0;
+        for (PartitionRef ref : partitions.values()) {
+            UserIndex index = ref.get();
+            if (index == null || !index.lock.readLock().tryLock()) {
+                continue;
+            }
+            try {
+                if (index.ready) {
+                    loaded++;
+                    documents += index.ordinals.size();
+                    terms += index.terms.size();
+                }
+            } finally {
+                index.lock.readLock().unlock();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("partitions", loaded);
+        stats.put("documents", documents);
+        stats.put("terms", terms);
+        stats.put("searches", searches.sum());
+        stats.put("builds", builds.sum());
+        stats.put("reclaimed", reclaimed.sum());
+        return stats;
+    }
+
+    /**
+     * Lower-cased words of the text with accents removed, split on anything that is not a letter or digit.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private UserIndex partition(Long userId) {
+        drainCollected();
+        while (true) {
+            PartitionRef ref = partitions.get(userId);
+            UserIndex existing = ref != null ? ref.get() : null;
+            if (existing != null) {
+                return existing;
+            }
+
+            UserIndex created = new UserIndex();
+            PartitionRef createdRef = new PartitionRef(userId, created, collected);
+            // Locked before it is published: searches wait for the load, and writes committed from now on are
+            // applied after it, so a row read by the load and reported again is simply replaced
+            created.lock.writeLock().lock();
+            try {
+                PartitionRef winner = partitions.compute(userId,
+                        (id, current) -> current != null && current.get() != null ? current : createdRef);
+                if (winner != createdRef) {
+                    continue;
+                }
+                try {
+                    load(userId, created);
+                } catch (RuntimeException e) {
+                    partitions.remove(userId, createdRef);
+                    throw e;
+                }
+                created.ready = true;
+                builds.increment();
+                return created;
+            } finally {
+                created.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void load(Long userId, UserIndex index) {
+        long started = System.nanoTime();
+        streamingJdbcTemplate.query(LOAD_SQL, rs -> {
+            Date date = rs.getDate(2);
+            int categoryId = rs.getInt(4);
+            String category = rs.wasNull() ? null : categoryDictionary.nameOf(categoryId);
+            index.put(rs.getLong(1), date != null ? date.toLocalDate() : null, rs.getString(3), category);
+        }, userId);
+        logger.debug("Built search index for user {}: {} transactions, {} terms in {} ms",
+                userId, index.ordinals.size(), index.terms.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void update(Long userId, Consumer<UserIndex> change) {
+        PartitionRef ref = partitions.get(userId);
+        UserIndex index = ref != null ? ref.get() : null;
+        // Not loaded: the next search reads the committed rows anyway
+        if (index == null) {
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            if (index.ready) {
+                change.accept(index);
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    private void drainCollected() {
+        Reference<? extends UserIndex> reference;
+        while ((reference = collected.poll()) != null) {
+            PartitionRef ref = (PartitionRef) reference;
+            if (partitions.remove(ref.userId, ref)) {
+                reclaimed.increment();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class PartitionRef extends SoftReference<UserIndex> {
+        private final Long userId;
+
+        PartitionRef(Long userId, UserIndex index, ReferenceQueue<UserIndex> queue) {
+            super(index, queue);
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * One user's index. Documents get increasing ordinals, so every posting list stays sorted by appending;
+     * a removed document is only marked deleted until enough of them pile up to compact the postings.
+     * Guarded by {@link #lock}; public only so it can be unit-tested on its own.
+     */
+    public static final class UserIndex {
+
+        private static final int COMPACT_MIN_DELETED = 1024;
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        boolean ready;
+
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        private long[] ids = new long[64];
+        // Epoch day of each document, for newest-first tie breaking
+        private int[] days = new int[64];
+        private final BitSet deleted = new BitSet();
+        private int size;
+        private int deletedCount;
+
+        public void put(long id, LocalDate date, String description, String category) {
+            Integer previous = ordinals.remove(id);
+            if (previous != null) {
+                markDeleted(previous);
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                days = Arrays.copyOf(days, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            days[ordinal] = date != null ? (int) date.toEpochDay() : Integer.MIN_VALUE;
+            ordinals.put(id, ordinal);
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String token : tokenize(description)) {
+                weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+            }
+            for (String token : tokenize(category)) {
+                weights.merge(token, CATEGORY_WEIGHT, Integer::sum);
+            }
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, k -> new Postings()).add(ordinal, weight));
+            compactIfNeeded();
+        }
+
+        public void remove(long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                markDeleted(ordinal);
+                compactIfNeeded();
+            }
+        }
+
+        public void search(List<String> tokens, int limit, int maxPrefixTerms, TransactionSearchResult result) {
+            int live = ordinals.size();
+            float[] totals = new float[size];
+            float[] best = new float[size];
+            // Number of query tokens each document has matched so far; only documents that matched all of them remain
+            int[] matched = new int[size];
+            int[] touched = new int[64];
+
+            for (int q = 0; q < tokens.size(); q++) {
+                String token = tokens.get(q);
+                int touchedCount = 0;
+                for (Map.Entry<String, Postings> term : expand(token, maxPrefixTerms).entrySet()) {
+                    Postings postings = term.getValue();
+                    float factor = term.getKey().length() == token.length()
+                            ? 1f
+                            : PREFIX_FACTOR * token.length() / term.getKey().length();
+                    // Postings still hold deleted documents until the next compaction
+                    int df = Math.min(postings.size, live);
+                    float idf = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        if (matched[doc] != q || deleted.get(doc)) {
+                            continue;
+                        }
+                        int weight = postings.weights[i];
+                        float score = factor * idf * weight * (K1 + 1) / (weight + K1);
+                        if (best[doc] == 0) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = doc;
+                        }
+                        best[doc] = Math.max(best[doc], score);
+                    }
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int doc = touched[i];
+                    totals[doc] += best[doc];
+                    best[doc] = 0;
+                    matched[doc] = q + 1;
+                }
+                if (touchedCount == 0) {
+                    return;
+                }
+            }
+
+            Comparator<Integer> ranking = Comparator.<Integer>comparingDouble(doc -> totals[doc])
+                    .thenComparingInt(doc -> days[doc])
+                    .thenComparingLong(doc -> ids[doc]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking);
+            int total = 0;
+            for (int doc = 0; doc < size; doc++) {
+                if (matched[doc] != tokens.size()) {
+                    continue;
+                }
+                total++;
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            SearchHit[] hits = new SearchHit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int doc = top.poll();
+                hits[i] = new SearchHit(ids[doc], BigDecimal.valueOf(totals[doc]).setScale(4, RoundingMode.HALF_UP));
+            }
+            result.setTotal(total);
+            result.setHits(Arrays.asList(hits));
+        }
+
+        // Live documents, not counting the deleted ones still awaiting compaction
+        public int documentCount() {
+            return ordinals.size();
+        }
+
+        public boolean hasTerm(String term) {
+            return terms.containsKey(term);
+        }
+
+        private NavigableMap<String, Postings> expand(String token, int maxPrefixTerms) {
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                Postings exact = terms.get(token);
+                return exact != null ? new TreeMap<>(Map.of(token, exact)) : new TreeMap<>();
+            }
+            NavigableMap<String, Postings> range = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+            if (range.size() <= maxPrefixTerms) {
+                return range;
+            }
+            // Keep the exact term and the first expansions in term order
+            NavigableMap<String, Postings> capped = new TreeMap<>();
+            Iterator<Map.Entry<String, Postings>> it = range.entrySet().iterator();
+            while (capped.size() < maxPrefixTerms && it.hasNext()) {
+                Map.Entry<String, Postings> entry = it.next();
+                capped.put(entry.getKey(), entry.getValue());
+            }
+            return capped;
+        }
+
+        private void markDeleted(int ordinal) {
+            deleted.set(ordinal);
+            deletedCount++;
+        }
+
+        private void compactIfNeeded() {
+            if (deletedCount < COMPACT_MIN_DELETED || deletedCount * 2 < size) {
+                return;
+            }
+            int[] remap = new int[size];
+            int next = 0;
+            for (int doc = 0; doc < size; doc++) {
+                if (deleted.get(doc)) {
+                    remap[doc] = -1;
+                } else {
+                    remap[doc] = next;
+                    ids[next] = ids[doc];
+                    days[next] = days[doc];
+                    ordinals.put(ids[next], next);
+                    next++;
+                }
+            }
+            terms.values().removeIf(postings -> postings.compact(remap) == 0);
+            size = next;
+            deleted.clear();
+            deletedCount = 0;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int compact(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    weights[next] = weights[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Synchronous creation of a single transaction together with its rollup.
+ * A transaction without a category is categorized by the user's rules first.
+ */
+@Service
+public class TransactionWriteService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @Transactional
+    public Transaction create(User user, Transaction transaction) {
+        transaction.setUser(user);
+        categoryRuleService.categorize(user, transaction);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollupService.add(savedTransaction);
+        transactionSearchService.indexed(savedTransaction);
+        dataVersionService.bump(user.getId());
+        return savedTransaction;
+    }
+}
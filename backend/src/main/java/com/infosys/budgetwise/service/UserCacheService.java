@@ -0,0 +1,177 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.model.JwtUserPrincipal;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, TTL-evicting cache in front of {@link UserRepository#findByEmail} and {@link UserRepository#findById}.
+ * Cached users are detached entities shared between requests: read them, reference them from new rows,
+ * but load a fresh copy from the repository before modifying one and call {@link #invalidate(User)} after saving.
+ */
+@Service
+public class UserCacheService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${user.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${user.cache.ttl:60000}")
+    private long ttl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Access-ordered so the least recently used user is evicted first; guarded by "this"
+    private final Map<Long, CachedUser> usersById = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+            if (size() > maxSize) {
+                idsByEmail.remove(eldest.getValue().user().getEmail());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, Long> idsByEmail = new HashMap<>();
+
+    // Stamp of the last invalidation of each recently invalidated id, so a load that read the user before an
+    // invalidation does not cache the stale copy afterwards; guarded by "this"
+    private long invalidations;
+    private long allInvalidatedAt;
+    private final Map<Long, Long> invalidatedAt = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Resolves the authenticated principal to its user, reusing the entity already loaded by the filter when there is one.
+     */
+    public Optional<User> findByPrincipal(UserDetails userDetails) {
+        if (userDetails instanceof User user) {
+            return Optional.of(user);
+        }
+        if (userDetails instanceof JwtUserPrincipal principal) {
+            return findById(principal.getId());
+        }
+        return findByEmail(userDetails.getUsername());
+    }
+
+    public Optional<User> findByEmail(String email) {
+        long loadStarted;
+        synchronized (this) {
+            Long id = idsByEmail.get(email);
+            User cached = id != null ? getIfFresh(id) : null;
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            loadStarted = invalidations;
+        }
+        misses.increment();
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(loaded -> put(loaded, loadStarted));
+        return user;
+    }
+
+    public Optional<User> findById(Long id) {
+        long loadStarted;
+        synchronized (this) {
+            User cached = getIfFresh(id);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            loadStarted = invalidations;
+        }
+        misses.increment();
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(loaded -> put(loaded, loadStarted));
+        return user;
+    }
+
+    public synchronized void invalidate(User user) {
+        if (user.getId() != null) {
+            invalidate(user.getId());
+        }
+        idsByEmail.remove(user.getEmail());
+    }
+
+    public synchronized void invalidate(Long id) {
+        invalidatedAt.put(id, ++invalidations);
+        CachedUser removed = usersById.remove(id);
+        if (removed != null) {
+            idsByEmail.remove(removed.user().getEmail());
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = ++invalidations;
+        invalidatedAt.clear();
+        usersById.clear();
+        idsByEmail.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (this) {
+            size = usersById.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    /**
+     * Caches a user loaded by a lookup that started at the given invalidation stamp, unless the user has been
+     * invalidated since: the loaded copy may predate that change.
+     */
+    private synchronized void put(User user, long loadStarted) {
+        if (user.getId() == null || allInvalidatedAt > loadStarted
+                || invalidatedAt.getOrDefault(user.getId(), 0L) > loadStarted) {
+            return;
+        }
+        CachedUser previous = usersById.put(user.getId(), new CachedUser(user, System.currentTimeMillis() + ttl));
+        if (previous != null && !Objects.equals(previous.user().getEmail(), user.getEmail())) {
+            idsByEmail.remove(previous.user().getEmail());
+        }
+        idsByEmail.put(user.getEmail(), user.getId());
+    }
+
+    private User getIfFresh(Long id) {
+        CachedUser entry = usersById.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            usersById.remove(id);
+            idsByEmail.remove(entry.user().getEmail());
+            return null;
+        }
+        return entry.user();
+    }
+
+    private record CachedUser(User user, long expiresAt) {
+    }
+}
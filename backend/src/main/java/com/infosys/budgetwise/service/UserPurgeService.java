@@ -0,0 +1,154 @@
+package com.infosys.budgetwise.service;
+
+import com.infosys.budgetwise.payload.PurgeJob;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes a user and everything they own in the background with set-based, chunked statements.
+ * Each chunk commits on its own, so no long transaction or lock is held, and nothing is loaded into the persistence
+ * context the way cascading orphan removal on {@code User} would. The user is locked out before the first delete.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private static final int MAX_RETAINED_JOBS = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @Value("${admin.purge.chunk-size:5000}")
+    private int chunkSize;
+
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Queues a purge of the user, or returns the job already queued or running for them.
+     */
+    public synchronized PurgeJob submit(Long userId) {
+        for (PurgeJob job : jobs.values()) {
+            if (job.getUserId().equals(userId) && job.isActive()) {
+                return job;
+            }
+        }
+        pruneFinishedJobs();
+
+        // Reject the user's tokens and forget the cached entity before any data disappears
+        tokenRevocationService.revoke(userId);
+        userCacheService.invalidate(userId);
+
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), userId);
+        jobs.put(job.getJobId(), job);
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    public Optional<PurgeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(PurgeJob job) {
+        Long userId = job.getUserId();
+        job.setStatus(PurgeJob.Status.RUNNING);
+        job.setStartedAt(Instant.now());
+        try {
+            job.setCurrentStep("transactions");
+            deleteInChunks("DELETE FROM transactions WHERE user_id = ? LIMIT ?", userId,
+                    deleted -> job.setTransactionsDeleted(job.getTransactionsDeleted() + deleted));
+
+            job.setCurrentStep("transaction_rollups");
+            deleteInChunks("DELETE FROM transaction_rollups WHERE user_id = ? LIMIT ?", userId,
+                    deleted -> job.setRollupsDeleted(job.getRollupsDeleted() + deleted));
+
+            job.setCurrentStep("advisor_insights");
+            jdbcTemplate.update("DELETE FROM advisor_insights WHERE user_id = ?", userId);
+
+            job.setCurrentStep("category_rules");
+            if (jdbcTemplate.update("DELETE FROM category_rules WHERE user_id = ?", userId) > 0) {
+                categoryRuleService.rulesChanged();
+            }
+
+            job.setCurrentStep("refresh_tokens");
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", userId);
+
+            // A user has one budget per month, and category amounts live in the budget row
+            job.setCurrentStep("budgets");
+            job.setBudgetsDeleted(jdbcTemplate.update("DELETE FROM budgets WHERE user_id = ?", userId));
+
+            job.setCurrentStep("users");
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            transactionSearchService.invalidate(userId);
+            dataVersionService.bump(userId);
+
+            job.setCurrentStep(null);
+            job.setStatus(PurgeJob.Status.COMPLETED);
+            logger.info("Purged user {}: {} transactions, {} budgets", userId, job.getTransactionsDeleted(), job.getBudgetsDeleted());
+        } catch (RuntimeException e) {
+            logger.error("Purge of user {} failed at step {}", userId, job.getCurrentStep(), e);
+            job.setError(e.getMessage());
+            job.setStatus(PurgeJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+        }
+    }
+
+    private void deleteInChunks(String sql, Long userId, LongConsumer progress) {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, userId, chunkSize);
+            progress.accept(deleted);
+        } while (deleted == chunkSize);
+    }
+
+    private void pruneFinishedJobs() {
+        if (jobs.size() < MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> !job.isActive())
+                .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
+                .limit(jobs.size() - MAX_RETAINED_JOBS / 2)
+                .forEach(job -> jobs.remove(job.getJobId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
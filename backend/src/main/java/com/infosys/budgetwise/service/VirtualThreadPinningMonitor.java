@@ -0,0 +1,107 @@
+package com.infosys.budgetwise.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically by blocking inside a synchronized block.
+ * It listens to the JFR {@code jdk.VirtualThreadPinned} event in-process, counts every occurrence above the
+ * threshold, logs the top frames and keeps the most recent ones for the admin endpoint.
+ * Active only in the virtual-thread serving mode.
+ */
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int RECENT_EVENTS = 20;
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.virtual-threads.pinning-threshold:20}")
+    private long pinningThreshold;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final Deque<Map<String, Object>> recentEvents = new ArrayDeque<>();
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable("jdk.VirtualThreadPinned")
+                    .withThreshold(Duration.ofMillis(pinningThreshold))
+                    .withStackTrace();
+            recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            recordingStream.startAsync();
+            logger.info("Monitoring virtual thread pinning above {} ms", pinningThreshold);
+        } catch (RuntimeException e) {
+            logger.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        List<String> frames = new ArrayList<>();
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                if (frames.size() == LOGGED_FRAMES) {
+                    break;
+                }
+                frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+            }
+        }
+        logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), frames);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("time", event.getStartTime().toString());
+        summary.put("durationMs", event.getDuration().toMillis());
+        summary.put("frames", frames);
+        synchronized (recentEvents) {
+            if (recentEvents.size() == RECENT_EVENTS) {
+                recentEvents.removeFirst();
+            }
+            recentEvents.addLast(summary);
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("virtualThreadsEnabled", virtualThreadsEnabled);
+        status.put("monitoring", recordingStream != null);
+        status.put("thresholdMs", pinningThreshold);
+        status.put("pinnedEvents", pinnedEvents.get());
+        synchronized (recentEvents) {
+            status.put("recentEvents", new ArrayList<>(recentEvents));
+        }
+        return status;
+    }
+}
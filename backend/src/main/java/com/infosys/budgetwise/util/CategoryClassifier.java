@@ -0,0 +1,244 @@
+package com.infosys.budgetwise.util;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.model.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, compiled form of a set of {@link CategoryRule}s.
+ * All KEYWORD and PREFIX patterns go into one Aho-Corasick automaton, so a description is categorized in a single
+ * pass over its characters whatever the number of rules. Rules are ranked once at compile time (the user's own
+ * before global ones, then higher priority, then longer pattern, then older rule) and the best ranked
+ * matching rule wins. Safe to share between threads.
+ */
+public final class CategoryClassifier {
+
+    private static final int[] NO_RULES = new int[0];
+
+    private static final Comparator<CategoryRule> PRECEDENCE = Comparator
+            .comparing(CategoryRule::isGlobal)
+            .thenComparing(Comparator.comparingInt(CategoryRule::getPriority).reversed())
+            .thenComparing(Comparator.comparingInt((CategoryRule rule) ->
+                    rule.getPattern() != null ? rule.getPattern().length() : 0).reversed())
+            .thenComparing(rule -> rule.getId() != null ? rule.getId() : Long.MAX_VALUE);
+
+    public static final CategoryClassifier EMPTY = new CategoryClassifier(List.of());
+
+    // Per rule, indexed by rank
+    private final String[] categories;
+    private final CategoryRule.MatchType[] matchTypes;
+    private final long[] minCents;
+    private final long[] maxCents;
+    private final boolean[] amountBounded;
+    // Ranks of AMOUNT rules, best first
+    private final int[] amountRules;
+
+    // Automaton: sorted child characters and states per state, failure link, link to the nearest suffix state that
+    // ends a pattern, pattern length and the ranks of the rules ending there, best first
+    private final char[][] childKeys;
+    private final int[][] childStates;
+    private final int[] fail;
+    private final int[] outputLink;
+    private final int[] depth;
+    private final int[][] outputs;
+
+    public CategoryClassifier(List<CategoryRule> rules) {
+        List<CategoryRule> ranked = new ArrayList<>(rules);
+        ranked.sort(PRECEDENCE);
+        int count = ranked.size();
+        categories = new String[count];
+        matchTypes = new CategoryRule.MatchType[count];
+        minCents = new long[count];
+        maxCents = new long[count];
+        amountBounded = new boolean[count];
+        List<Integer> amountOnly = new ArrayList<>();
+
+        Builder builder = new Builder();
+        for (int rank = 0; rank < count; rank++) {
+            CategoryRule rule = ranked.get(rank);
+            categories[rank] = rule.getCategory();
+            matchTypes[rank] = rule.getMatchType();
+            minCents[rank] = rule.getMinAmount() != null ? Money.toCents(rule.getMinAmount()) : Long.MIN_VALUE;
+            maxCents[rank] = rule.getMaxAmount() != null ? Money.toCents(rule.getMaxAmount()) : Long.MAX_VALUE;
+            amountBounded[rank] = rule.getMinAmount() != null || rule.getMaxAmount() != null;
+            if (rule.getMatchType() == CategoryRule.MatchType.AMOUNT) {
+                amountOnly.add(rank);
+            } else {
+                String pattern = fold(rule.getPattern());
+                if (!pattern.isEmpty()) {
+                    builder.add(pattern, rank);
+                }
+            }
+        }
+        amountRules = amountOnly.stream().mapToInt(Integer::intValue).toArray();
+
+        int states = builder.children.size();
+        childKeys = new char[states][];
+        childStates = new int[states][];
+        outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            TreeMap<Character, Integer> children = builder.children.get(state);
+            childKeys[state] = new char[children.size()];
+            childStates[state] = new int[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> child : children.entrySet()) {
+                childKeys[state][i] = child.getKey();
+                childStates[state][i] = child.getValue();
+                i++;
+            }
+            List<Integer> ranks = builder.ranks.get(state);
+            // Ranks were added in increasing order, so the list is already best first
+            outputs[state] = ranks == null ? NO_RULES : ranks.stream().mapToInt(Integer::intValue).toArray();
+        }
+        depth = builder.depth.stream().mapToInt(Integer::intValue).toArray();
+        fail = new int[states];
+        outputLink = new int[states];
+        linkFailures();
+    }
+
+    /**
+     * Category of the best ranked rule matching the transaction, or null when no rule matches.
+     */
+    public String classify(String description, BigDecimal amount) {
+        boolean hasAmount = amount != null;
+        long cents = hasAmount ? Money.toCents(amount) : 0;
+        int best = Integer.MAX_VALUE;
+
+        if (description != null && childKeys[0].length > 0) {
+            String text = fold(description);
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int next;
+                while ((next = child(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = Math.max(next, 0);
+                for (int s = outputs[state].length > 0 ? state : outputLink[state]; s != 0; s = outputLink[s]) {
+                    int end = i + 1;
+                    int start = end - depth[s];
+                    for (int rank : outputs[s]) {
+                        if (rank >= best) {
+                            break;
+                        }
+                        if (accepts(rank, text, start, end, hasAmount, cents)) {
+                            best = rank;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int rank : amountRules) {
+            if (rank >= best) {
+                break;
+            }
+            if (hasAmount && cents >= minCents[rank] && cents <= maxCents[rank]) {
+                best = rank;
+                break;
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : categories[best];
+    }
+
+    public int size() {
+        return categories.length;
+    }
+
+    /**
+     * Lower case, so patterns and descriptions compare case-insensitively.
+     */
+    public static String fold(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private boolean accepts(int rank, String text, int start, int end, boolean hasAmount, long cents) {
+        if (matchTypes[rank] == CategoryRule.MatchType.PREFIX) {
+            if (start != 0) {
+                return false;
+            }
+        } else if (!isBoundary(text, start - 1) || !isBoundary(text, end)) {
+            return false;
+        }
+        if (amountBounded[rank]) {
+            return hasAmount && cents >= minCents[rank] && cents <= maxCents[rank];
+        }
+        return true;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private int child(int state, char c) {
+        int i = Arrays.binarySearch(childKeys[state], c);
+        return i >= 0 ? childStates[state][i] : -1;
+    }
+
+    /**
+     * Breadth-first, so the failure target of every state is final before its children are linked.
+     */
+    private void linkFailures() {
+        int[] queue = new int[fail.length];
+        int head = 0;
+        int tail = 0;
+        for (int child : childStates[0]) {
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = 0; i < childKeys[state].length; i++) {
+                char c = childKeys[state][i];
+                int child = childStates[state][i];
+                int candidate = fail[state];
+                int next;
+                while ((next = child(candidate, c)) < 0 && candidate != 0) {
+                    candidate = fail[candidate];
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private static final class Builder {
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> depth = new ArrayList<>();
+        private final Map<Integer, List<Integer>> ranks = new HashMap<>();
+
+        Builder() {
+            newState(0);
+        }
+
+        void add(String pattern, int rank) {
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = newState(i + 1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ranks.computeIfAbsent(state, k -> new ArrayList<>()).add(rank);
+        }
+
+        private int newState(int stateDepth) {
+            children.add(new TreeMap<>());
+            depth.add(stateDepth);
+            return children.size() - 1;
+        }
+    }
+}
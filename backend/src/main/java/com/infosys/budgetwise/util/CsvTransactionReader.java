@@ -0,0 +1,85 @@
+package com.infosys.budgetwise.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads CSV exports whose first line is a header naming the columns.
+ * Recognised columns are date, description, amount, category and type, in any order; date and amount are required.
+ */
+public class CsvTransactionReader implements TransactionRecordReader {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private int dateIndex = -1;
+    private int descriptionIndex = -1;
+    private int amountIndex = -1;
+    private int categoryIndex = -1;
+    private int typeIndex = -1;
+
+    public CsvTransactionReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        List<String> columns = Csv.parseLine(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date" -> dateIndex = i;
+                case "description" -> descriptionIndex = i;
+                case "amount" -> amountIndex = i;
+                case "category" -> categoryIndex = i;
+                case "type" -> typeIndex = i;
+                default -> { }
+            }
+        }
+        if (dateIndex < 0 || amountIndex < 0) {
+            throw new IllegalArgumentException("CSV header must contain 'date' and 'amount' columns");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> fields = Csv.parseLine(line);
+        return new ImportRow(lineNumber,
+                field(fields, dateIndex),
+                field(fields, descriptionIndex),
+                field(fields, amountIndex),
+                field(fields, categoryIndex),
+                field(fields, typeIndex));
+    }
+
+    @Override
+    public long position() {
+        return lineNumber;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,7 @@
+package com.infosys.budgetwise.util;
+
+/**
+ * One unvalidated row read from an import file. All values are raw text; missing values are null.
+ */
+public record ImportRow(long lineNumber, String date, String description, String amount, String category, String type) {
+}
@@ -0,0 +1,23 @@
+package com.infosys.budgetwise.util;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Helpers for writing JSON columns with plain JDBC. MySQL parses a bound string into a JSON column,
+ * whereas H2 stores a bound string as a JSON string literal unless the parameter is marked {@code FORMAT JSON}.
+ */
+public final class JsonColumns {
+
+    private JsonColumns() {
+    }
+
+    /**
+     * Returns the SQL placeholder to use for a JSON text parameter on the given database.
+     */
+    public static String placeholder(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "H2".equalsIgnoreCase(product) ? "? FORMAT JSON" : "?";
+    }
+}
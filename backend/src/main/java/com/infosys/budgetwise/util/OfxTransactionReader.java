@@ -0,0 +1,99 @@
+package com.infosys.budgetwise.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Streams STMTTRN records out of an OFX 1.x (SGML) or 2.x (XML) statement.
+ * Only DTPOSTED, TRNAMT, TRNTYPE, NAME and MEMO are read; the sign of TRNAMT decides income versus expense.
+ */
+public class OfxTransactionReader implements TransactionRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private long recordNumber;
+    private int pushedBack = -1;
+
+    private String date;
+    private String amount;
+    private String name;
+    private String memo;
+    private boolean inTransaction;
+
+    public OfxTransactionReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String tag;
+        while ((tag = nextTag()) != null) {
+            switch (tag) {
+                case "STMTTRN" -> {
+                    inTransaction = true;
+                    date = amount = name = memo = null;
+                }
+                case "/STMTTRN" -> {
+                    if (inTransaction) {
+                        inTransaction = false;
+                        recordNumber++;
+                        String description = name != null ? name : memo;
+                        String isoDate = date != null && date.length() >= 8
+                                ? date.substring(0, 4) + "-" + date.substring(4, 6) + "-" + date.substring(6, 8)
+                                : date;
+                        return new ImportRow(recordNumber, isoDate, description, amount, null, null);
+                    }
+                }
+                case "DTPOSTED" -> date = readValue();
+                case "TRNAMT" -> amount = readValue();
+                case "NAME" -> name = readValue();
+                case "MEMO" -> memo = readValue();
+                default -> { }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long position() {
+        return inTransaction ? recordNumber + 1 : recordNumber;
+    }
+
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // skip text outside the tags we care about
+        }
+        if (c == -1) {
+            return null;
+        }
+        buffer.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            buffer.append((char) c);
+        }
+        return buffer.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private String readValue() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            buffer.append((char) c);
+        }
+        if (c == '<') {
+            pushedBack = c;
+        }
+        String value = buffer.toString().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+}
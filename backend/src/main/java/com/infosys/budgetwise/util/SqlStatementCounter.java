@@ -0,0 +1,131 @@
+package com.infosys.budgetwise.util;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements executed and the result set rows read on the current thread.
+ * {@link #wrap(DataSource)} returns a JDK proxy of the data source whose connections, statements and result sets
+ * report to the counter started with {@link #start()}; threads that never started one pay only a thread-local read.
+ * Covers JPA and JdbcTemplate alike, since both go through the data source.
+ */
+public final class SqlStatementCounter {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Statements and rows counted since {@link #start()}.
+     */
+    public static final class Counts {
+        private long statements;
+        private long rows;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+
+    private SqlStatementCounter() {
+    }
+
+    public static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * The counts of the current thread, or null if counting was not started.
+     */
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return (DataSource) proxy(dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && method.getName().startsWith("getConnection")) {
+                return wrapConnection(connection);
+            }
+            return result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) proxy(connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                return wrapStatement(statement);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        return (Statement) proxy(statement, (target, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                Counts counts = CURRENT.get();
+                if (counts != null) {
+                    counts.statements++;
+                }
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) proxy(resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                Counts counts = CURRENT.get();
+                if (counts != null) {
+                    counts.rows++;
+                }
+            }
+            return result;
+        });
+    }
+
+    private interface Interceptor {
+        Object intercept(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object proxy(Object target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(target, method, args);
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(target), handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.infosys.budgetwise.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-key token buckets without locks. Each bucket is an immutable (tokens, timestamp) snapshot swapped by
+ * compare-and-set, and refilled lazily from the elapsed time when a token is requested.
+ * Once more than {@code maxKeys} buckets exist, one caller sweeps out the buckets that have been idle long enough
+ * to be full again, since dropping those loses no state.
+ */
+public class TokenBucketRateLimiter {
+
+    private record State(double tokens, long updatedNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxKeys;
+    private final Map<String, AtomicReference<State>> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(int capacity, double tokensPerSecond, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the bucket of the key. Returns 0 if it was granted, otherwise the number of
+     * nanoseconds until a token becomes available.
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicReference<State> bucket = buckets.get(key);
+        if (bucket == null) {
+            evictIfFull(now);
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicReference<>(new State(capacity, now)));
+        }
+        while (true) {
+            State current = bucket.get();
+            double tokens = Math.min(capacity, current.tokens() + (now - current.updatedNanos()) * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (bucket.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evictIfFull(long now) {
+        if (buckets.size() < maxKeys || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> now - bucket.get().updatedNanos() >= idleNanos);
+            if (buckets.size() >= maxKeys) {
+                // Every client is active; forgetting all of them is better than growing without bound
+                buckets.clear();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
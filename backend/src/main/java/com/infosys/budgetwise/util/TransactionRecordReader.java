@@ -0,0 +1,19 @@
+package com.infosys.budgetwise.util;
+
+import java.io.IOException;
+
+/**
+ * Pull-based reader over an import file, so rows are parsed one at a time instead of loading the whole upload.
+ */
+public interface TransactionRecordReader {
+
+    /**
+     * Returns the next row, or null once the input is exhausted.
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * Line (CSV) or record (OFX) number the reader has reached, for reporting where a failed read stopped.
+     */
+    long position();
+}
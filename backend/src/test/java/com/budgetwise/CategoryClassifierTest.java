@@ -0,0 +1,97 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.util.CategoryClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CategoryClassifierTest {
+
+    @Test
+    void matchesKeywordsAsWholeWordsIgnoringCase() {
+        CategoryClassifier classifier = new CategoryClassifier(List.of(
+                rule(1, null, CategoryRule.MatchType.KEYWORD, "uber", "Travel", 0),
+                rule(2, null, CategoryRule.MatchType.KEYWORD, "whole foods", "Groceries", 0)));
+
+        assertEquals("Travel", classifier.classify("UBER *TRIP 1234", null));
+        assertEquals("Groceries", classifier.classify("Whole Foods Market #12", null));
+        assertNull(classifier.classify("Uberrific Ltd", null));
+        assertNull(classifier.classify("wholesale foods", null));
+    }
+
+    @Test
+    void prefixRulesOnlyMatchAtTheStart() {
+        CategoryClassifier classifier = new CategoryClassifier(List.of(
+                rule(1, null, CategoryRule.MatchType.PREFIX, "amzn", "Shopping", 0)));
+
+        assertEquals("Shopping", classifier.classify("  AMZN Mktp US*2K4", null));
+        assertEquals("Shopping", classifier.classify("amznprime", null));
+        assertNull(classifier.classify("Refund AMZN", null));
+    }
+
+    @Test
+    void amountBoundsNarrowAndAmountRulesStandAlone() {
+        CategoryClassifier classifier = new CategoryClassifier(List.of(
+                rule(1, null, CategoryRule.MatchType.KEYWORD, "transfer", "Rent", 0, "1000.00", null),
+                rule(2, null, CategoryRule.MatchType.AMOUNT, null, "Small", 0, null, "5.00")));
+
+        assertEquals("Rent", classifier.classify("Transfer to landlord", new BigDecimal("1200")));
+        assertNull(classifier.classify("Transfer to savings", new BigDecimal("50")));
+        assertEquals("Small", classifier.classify("Transfer to savings", new BigDecimal("4.99")));
+        assertNull(classifier.classify("Transfer to landlord", null));
+    }
+
+    @Test
+    void userRulesThenPriorityThenLongerPatternWin() {
+        User user = new User();
+        user.setId(7L);
+        CategoryClassifier classifier = new CategoryClassifier(List.of(
+                rule(1, null, CategoryRule.MatchType.KEYWORD, "coffee", "Food", 10),
+                rule(2, user, CategoryRule.MatchType.KEYWORD, "coffee", "Treats", 0),
+                rule(3, null, CategoryRule.MatchType.KEYWORD, "star", "Fun", 0),
+                rule(4, null, CategoryRule.MatchType.KEYWORD, "star bucks", "Cafe", 0),
+                rule(5, null, CategoryRule.MatchType.KEYWORD, "gym", "Health", 0),
+                rule(6, null, CategoryRule.MatchType.KEYWORD, "gym", "Sport", 5)));
+
+        assertEquals("Treats", classifier.classify("Morning coffee", null));
+        assertEquals("Cafe", classifier.classify("Star Bucks 42", null));
+        assertEquals("Sport", classifier.classify("City gym monthly", null));
+    }
+
+    @Test
+    void findsPatternsThatOverlapOrNestInsideOthers() {
+        CategoryClassifier classifier = new CategoryClassifier(List.of(
+                rule(1, null, CategoryRule.MatchType.KEYWORD, "she", "A", 0),
+                rule(2, null, CategoryRule.MatchType.KEYWORD, "he", "B", 0),
+                rule(3, null, CategoryRule.MatchType.KEYWORD, "hers", "C", 0)));
+
+        assertEquals("B", classifier.classify("ushe he", null));
+        assertEquals("C", classifier.classify("ushers hers", null));
+        assertNull(classifier.classify("ushers", null));
+        assertNull(CategoryClassifier.EMPTY.classify("anything", BigDecimal.ONE));
+    }
+
+    private static CategoryRule rule(long id, User user, CategoryRule.MatchType type, String pattern, String category, int priority) {
+        return rule(id, user, type, pattern, category, priority, null, null);
+    }
+
+    private static CategoryRule rule(long id, User user, CategoryRule.MatchType type, String pattern, String category, int priority,
+                                     String minAmount, String maxAmount) {
+        CategoryRule rule = new CategoryRule();
+        rule.setId(id);
+        rule.setUser(user);
+        rule.setMatchType(type);
+        rule.setPattern(pattern);
+        rule.setCategory(category);
+        rule.setPriority(priority);
+        rule.setMinAmount(minAmount != null ? new BigDecimal(minAmount) : null);
+        rule.setMaxAmount(maxAmount != null ? new BigDecimal(maxAmount) : null);
+        return rule;
+    }
+}
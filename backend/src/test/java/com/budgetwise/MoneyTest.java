@@ -0,0 +1,37 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void roundsHalfUpLikeDecimalColumns() {
+        assertEquals(101, Money.of(1.005).getCents());
+        assertEquals(-101, Money.of(new BigDecimal("-1.005")).getCents());
+        assertEquals(100, Money.of(new BigDecimal("1.004")).getCents());
+        assertEquals(new BigDecimal("12.30"), Money.of(12.3).toBigDecimal());
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        long[][] cases = {{5, 2}, {-5, 2}, {5, -2}, {7, 3}, {-7, 3}, {1, 3}, {2, 3}, {0, 9}};
+        for (long[] c : cases) {
+            long expected = BigDecimal.valueOf(c[0]).divide(BigDecimal.valueOf(c[1]), 0, java.math.RoundingMode.HALF_UP).longValueExact();
+            assertEquals(expected, Money.divideHalfUp(c[0], c[1]), c[0] + "/" + c[1]);
+        }
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        assertEquals(Money.ofCents(30), Money.ofCents(10).plus(Money.ofCents(20)));
+        assertEquals(Money.ofCents(-10), Money.ofCents(10).minus(Money.ofCents(20)));
+        assertEquals(60, Money.sum(new long[]{10, 20, 30}, 0, 3));
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+    }
+}
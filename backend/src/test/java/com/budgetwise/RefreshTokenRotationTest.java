@@ -0,0 +1,134 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.controller.AuthController;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.RefreshTokenRequest;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Single-use rotation of refresh tokens, reuse detection and revocation, through the service and the
+ * {@code /api/auth/refresh} and {@code /api/auth/logout} handlers.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("h2")
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Refresh");
+        user.setEmail("refresh-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void rotationReplacesTheTokenWithANewOne() {
+        String issued = refreshTokenService.issue(user);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued);
+
+        assertEquals(user.getId(), rotation.user().getId());
+        assertNotEquals(issued, rotation.refreshToken());
+        // The replacement is itself good for exactly one more rotation
+        refreshTokenService.rotate(rotation.refreshToken());
+    }
+
+    @Test
+    void reusingAUsedTokenRevokesTheWholeFamily() {
+        String issued = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.rotate(issued).refreshToken();
+        String otherSession = refreshTokenService.issue(user);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(issued));
+        // The legitimate client's current token went with the family
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(rotated));
+        // A separate login is a separate family and keeps working
+        refreshTokenService.rotate(otherSession);
+    }
+
+    @Test
+    void anExpiredTokenIsRejected() {
+        String issued = refreshTokenService.issue(user);
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = ? WHERE user_id = ?",
+                Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)), user.getId());
+
+        BadCredentialsException e = assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(issued));
+        assertEquals("Refresh token has expired", e.getMessage());
+    }
+
+    @Test
+    void revokingAllTokensEndsEverySession() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.issue(user);
+
+        assertEquals(2, refreshTokenService.revokeAll(user));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(first));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(second));
+    }
+
+    @Test
+    void refreshEndpointRotatesAndAnswersReuseWithUnauthorized() {
+        String issued = refreshTokenService.issue(user);
+
+        ResponseEntity<?> refreshed = authController.refresh(request(issued));
+        assertEquals(HttpStatus.OK, refreshed.getStatusCode());
+        Map<?, ?> body = (Map<?, ?>) refreshed.getBody();
+        assertEquals(user.getEmail(), body.get("email"));
+        assertNotEquals(issued, body.get("refreshToken"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, authController.refresh(request(issued)).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, authController.refresh(request((String) body.get("refreshToken"))).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, authController.refresh(request("")).getStatusCode());
+    }
+
+    @Test
+    void logoutRevokesTheSession() {
+        String issued = refreshTokenService.issue(user);
+
+        assertEquals(HttpStatus.OK, authController.logout(request(issued)).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, authController.refresh(request(issued)).getStatusCode());
+        // Unknown tokens are ignored
+        assertEquals(HttpStatus.OK, authController.logout(request("unknown")).getStatusCode());
+    }
+
+    private static RefreshTokenRequest request(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
+}
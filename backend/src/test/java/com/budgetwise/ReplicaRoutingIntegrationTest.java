@@ -0,0 +1,149 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.config.ReplicaRoutingConfig;
+import com.infosys.budgetwise.model.JwtUserPrincipal;
+import com.infosys.budgetwise.service.DataVersionService;
+import com.infosys.budgetwise.service.ReplicaLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between two in-memory databases standing in for the primary and the replica. Each holds a marker row
+ * naming it, so a query tells which one served it; replication is simulated by copying the heartbeat by hand.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("replica")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(ReplicaRoutingConfig.PRIMARY_DATA_SOURCE)
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier(ReplicaRoutingConfig.REPLICA_DATA_SOURCE)
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        mark(primary, "primary");
+        mark(replica, "replica");
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        assertEquals("replica", inTransaction(true));
+    }
+
+    @Test
+    void writesAndReadsOutsideTransactionsUseThePrimary() {
+        assertEquals("primary", inTransaction(false));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        replica.update("UPDATE replica_heartbeats SET beat_at = ?", System.currentTimeMillis() - 60_000);
+        replicaLagMonitor.check();
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals("primary", inTransaction(true));
+
+        replicate();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals("replica", inTransaction(true));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() {
+        replica.execute("DROP TABLE replica_heartbeats");
+        replicaLagMonitor.check();
+        assertEquals("primary", inTransaction(true));
+    }
+
+    @Test
+    void aUserReadsTheirOwnWritesFromThePrimary() throws InterruptedException {
+        authenticate(1001L);
+        dataVersionService.bump(1001L);
+        assertEquals("primary", inTransaction(true));
+
+        // Another user is not affected
+        authenticate(1002L);
+        assertEquals("replica", inTransaction(true));
+
+        // Once the window has passed the writer reads from the replica again
+        authenticate(1001L);
+        Thread.sleep(400);
+        replicate();
+        assertEquals("replica", inTransaction(true));
+    }
+
+    private String inTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM routing_marker", String.class);
+    }
+
+    private void replicate() {
+        replicaLagMonitor.beat();
+        Long beat = primary.queryForObject("SELECT beat_at FROM replica_heartbeats WHERE id = 1", Long.class);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeats (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replica.update("DELETE FROM replica_heartbeats");
+        replica.update("INSERT INTO replica_heartbeats (id, beat_at) VALUES (1, ?)", beat);
+        replicaLagMonitor.check();
+    }
+
+    private static void mark(JdbcTemplate database, String name) {
+        database.execute("CREATE TABLE IF NOT EXISTS routing_marker (name VARCHAR(16) NOT NULL)");
+        database.update("DELETE FROM routing_marker");
+        database.update("INSERT INTO routing_marker (name) VALUES (?)", name);
+    }
+
+    private static void authenticate(Long userId) {
+        JwtUserPrincipal principal = new JwtUserPrincipal(userId, "user" + userId + "@example.com", "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.config.JwtAuthenticationFilter;
+import com.infosys.budgetwise.model.JwtUserPrincipal;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TokenRevocationService;
+import com.infosys.budgetwise.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tokens of revoked and deleted users on the stateless path, where the principal comes from the claims alone.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("h2")
+class StatelessTokenRevocationTest {
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "stateless", true);
+        user = new User();
+        user.setName("Stateless");
+        user.setEmail("stateless-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acceptsTheTokenOfAnExistingUserFromItsClaims() throws Exception {
+        Authentication authentication = authenticate(jwtUtil.generateToken(user));
+
+        assertNotNull(authentication);
+        JwtUserPrincipal principal = assertInstanceOf(JwtUserPrincipal.class, authentication.getPrincipal());
+        assertEquals(user.getEmail(), principal.getUsername());
+    }
+
+    @Test
+    void rejectsTheTokenOfARevokedUser() throws Exception {
+        String token = jwtUtil.generateToken(user);
+        tokenRevocationService.revoke(user.getId());
+
+        // The user row still exists, so only the revocation keeps the token out
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void rejectsTheTokenOfADeletedUser() throws Exception {
+        String token = jwtUtil.generateToken(user);
+        userRepository.deleteById(user.getId());
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void forgetsARevocationOnceEveryEarlierTokenHasExpired() {
+        TokenRevocationService revocations = beanFactory.createBean(TokenRevocationService.class);
+        ReflectionTestUtils.setField(revocations, "tokenLifetime", 60_000L);
+        revocations.revoke(user.getId());
+        assertTrue(revocations.isRevoked(user.getId()));
+
+        ReflectionTestUtils.setField(revocations, "tokenLifetime", 0L);
+        revocations.revoke(user.getId());
+        revocations.pruneRevocations();
+        assertFalse(revocations.isRevoked(user.getId()));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(revocations, "revokedUntil")).isEmpty());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
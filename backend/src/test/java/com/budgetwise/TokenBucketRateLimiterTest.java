@@ -0,0 +1,30 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.util.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1.0 / 60, 100);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        // Other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void boundsTheNumberOfTrackedClients() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1.0 / 60, 10);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+        assertTrue(limiter.size() <= 10);
+    }
+}
@@ -0,0 +1,156 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.config.TransactionCategoryMigration;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.TransactionRepository;
+import com.infosys.budgetwise.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The move from the legacy {@code transactions.category} column to dictionary ids. The schema is created without the
+ * legacy column, so each test adds it and fills it the way the previous version wrote rows.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("h2")
+class TransactionCategoryMigrationTest {
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category VARCHAR(255)");
+
+        user = new User();
+        user.setName("Migration");
+        user.setEmail("migration-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN IF EXISTS category");
+    }
+
+    @Test
+    void copiesEveryNameIntoTheDictionaryAndKeepsTheLegacyColumn() {
+        long food = insertLegacy("Groceries", "Migration food");
+        long rent = insertLegacy("Migration rent", "Migration rent");
+        long uncategorized = insertLegacy("Refund", null);
+        long food2 = insertLegacy("Market", "Migration food");
+
+        migration(2, false).afterSingletonsInstantiated();
+
+        assertEquals("Migration food", storedCategory(food));
+        assertEquals("Migration rent", storedCategory(rent));
+        assertEquals("Migration food", storedCategory(food2));
+        assertEquals(categoryId(food), categoryId(food2));
+        assertNull(categoryId(uncategorized));
+        assertEquals("Migration food", transactionRepository.findById(food).orElseThrow().getCategory());
+        assertTrue(legacyColumnExists());
+    }
+
+    @Test
+    void resumesWithTheRowsStillWithoutAnId() {
+        long moved = insertLegacy("Taxi", "Migration travel");
+        migration(10000, false).afterSingletonsInstantiated();
+        Integer travel = categoryId(moved);
+
+        // An interrupted run, or an instance of the previous version, leaves rows with a name and no id yet.
+        // A row that already has an id is not touched again, even if its legacy name differs.
+        jdbcTemplate.update("UPDATE transactions SET category = 'Migration other' WHERE id = ?", moved);
+        long later = insertLegacy("Train", "Migration travel");
+        long added = insertLegacy("Hotel", "Migration lodging");
+
+        migration(1, false).afterSingletonsInstantiated();
+
+        assertEquals(travel, categoryId(moved));
+        assertEquals(travel, categoryId(later));
+        assertEquals("Migration lodging", storedCategory(added));
+    }
+
+    @Test
+    void dropsTheLegacyColumnOnlyWhenAskedAndEveryRowHasMoved() {
+        insertLegacy("Cinema", "Migration fun");
+        migration(10000, false).afterSingletonsInstantiated();
+        assertTrue(legacyColumnExists());
+
+        migration(10000, true).afterSingletonsInstantiated();
+        assertFalse(legacyColumnExists());
+        // Without the legacy column there is nothing left to migrate
+        migration(10000, true).afterSingletonsInstantiated();
+    }
+
+    @Test
+    void neverDropsTheLegacyColumnWithoutMigratingFirst() {
+        long gym = insertLegacy("Gym", "Migration health");
+        TransactionCategoryMigration disabled = migration(10000, true);
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.afterSingletonsInstantiated();
+        assertTrue(legacyColumnExists());
+        assertNull(categoryId(gym));
+
+        migration(10000, true).afterSingletonsInstantiated();
+        assertEquals("Migration health", storedCategory(gym));
+        assertFalse(legacyColumnExists());
+    }
+
+    private TransactionCategoryMigration migration(int chunkSize, boolean dropLegacyColumn) {
+        TransactionCategoryMigration migration = beanFactory.createBean(TransactionCategoryMigration.class);
+        ReflectionTestUtils.setField(migration, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(migration, "dropLegacyColumn", dropLegacyColumn);
+        return migration;
+    }
+
+    private long insertLegacy(String description, String category) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, description, amount, category, date, type) "
+                        + "VALUES (?, ?, 10.00, ?, ?, 'EXPENSE')",
+                user.getId(), description, category, Date.valueOf(LocalDate.of(2024, 5, 10)));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions WHERE user_id = ?", Long.class, user.getId());
+    }
+
+    private Integer categoryId(long transactionId) {
+        return jdbcTemplate.queryForObject("SELECT category_id FROM transactions WHERE id = ?", Integer.class, transactionId);
+    }
+
+    private String storedCategory(long transactionId) {
+        return jdbcTemplate.queryForObject("SELECT c.name FROM transactions t JOIN categories c ON c.id = t.category_id "
+                + "WHERE t.id = ?", String.class, transactionId);
+    }
+
+    private boolean legacyColumnExists() {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'TRANSACTIONS' AND COLUMN_NAME = 'CATEGORY'", Integer.class);
+        return columns != null && columns > 0;
+    }
+}
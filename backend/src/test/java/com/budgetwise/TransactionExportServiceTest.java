@@ -0,0 +1,93 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TransactionExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The keyset paging of the export: every row is written exactly once and in (date, id) order, also when rows of
+ * one date span a page boundary.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("h2")
+class TransactionExportServiceTest {
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesEveryRowOnceAcrossPageBoundaries() throws Exception {
+        User user = user();
+        List<Long> expected = new ArrayList<>();
+        expected.add(insert(user, "First", 1));
+        expected.add(insert(user, "Same day A", 2));
+        expected.add(insert(user, "Same day B", 2));
+        expected.add(insert(user, "Same day C", 2));
+        expected.add(insert(user, "Last", 3));
+        // Written first but dated earlier, so it leads the export
+        expected.add(0, insert(user, "Backdated", 0));
+
+        for (int pageSize : new int[]{1, 2, 3, 6, 7}) {
+            assertEquals(expected, exportedIds(user, pageSize), "page size " + pageSize);
+        }
+    }
+
+    @Test
+    void exportsOnlyTheHeaderForAUserWithoutTransactions() throws Exception {
+        assertEquals(List.of(), exportedIds(user(), 2));
+    }
+
+    private List<Long> exportedIds(User user, int pageSize) throws Exception {
+        TransactionExportService exportService = beanFactory.createBean(TransactionExportService.class);
+        ReflectionTestUtils.setField(exportService, "flushRows", pageSize);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(user.getId(), TransactionExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,date,description,category,type,amount", lines[0]);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            ids.add(Long.parseLong(lines[i].substring(0, lines[i].indexOf(','))));
+        }
+        return ids;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("Export");
+        user.setEmail("export-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+
+    private long insert(User user, String description, int day) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, description, amount, date, type) VALUES (?, ?, ?, ?, 'EXPENSE')",
+                user.getId(), description, new BigDecimal("5.00"), Date.valueOf(LocalDate.of(2024, 3, 10 + day)));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions WHERE user_id = ?", Long.class, user.getId());
+    }
+}
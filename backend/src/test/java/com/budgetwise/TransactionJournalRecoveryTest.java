@@ -0,0 +1,174 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TransactionJournalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crash recovery of the transaction journal. Each "process" is a fresh {@link TransactionJournalService} over the
+ * same directory; a crash stops its threads without the final flush of a graceful shutdown. Segments roll after
+ * every group (segment-bytes=1) and the background flusher never runs on its own.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class, properties = {
+        "transactions.ingest.journal.dir=" + TransactionJournalRecoveryTest.JOURNAL_DIR,
+        "transactions.ingest.journal.segment-bytes=1",
+        "transactions.ingest.flush-interval=3600000"
+})
+@ActiveProfiles("h2")
+class TransactionJournalRecoveryTest {
+
+    static final String JOURNAL_DIR = "target/journal-recovery-test";
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path directory = Paths.get(JOURNAL_DIR);
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        jdbcTemplate.update("DELETE FROM journal_checkpoints");
+
+        user = new User();
+        user.setName("Journal");
+        user.setEmail("journal-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void acknowledgedEntriesAreReplayedAfterACrashAndFlushedOnce() throws Exception {
+        TransactionJournalService first = start();
+        for (int i = 0; i < 3; i++) {
+            first.append(user, transaction("Coffee " + i));
+        }
+        crash(first);
+
+        TransactionJournalService second = start();
+        assertEquals(3, second.pendingTransactions(user.getId()).size());
+        second.shutdown();
+        assertEquals(3, storedTransactions());
+        assertEquals(3L, checkpoint());
+
+        // Everything is below the checkpoint now, so a further restart replays nothing
+        TransactionJournalService third = start();
+        assertTrue(third.pendingTransactions(user.getId()).isEmpty());
+        third.shutdown();
+        assertEquals(3, storedTransactions());
+    }
+
+    @Test
+    void aTornTailIsTruncatedAndSequencesContinue() throws Exception {
+        TransactionJournalService first = start();
+        first.append(user, transaction("Rent"));
+        first.append(user, transaction("Groceries"));
+        crash(first);
+
+        // A crash in the middle of a write leaves a partial, never acknowledged line at the end of the last segment
+        Path last = segments().get(segments().size() - 1);
+        long validSize = Files.size(last);
+        Files.write(last, "1a2b3c4d {\"sequence\":3,\"userId\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        TransactionJournalService second = start();
+        assertEquals(validSize, Files.size(last));
+        assertEquals(2, second.pendingTransactions(user.getId()).size());
+        Transaction appended = second.append(user, transaction("Cinema"));
+        assertEquals(-3L, appended.getId());
+        second.shutdown();
+        assertEquals(3, storedTransactions());
+    }
+
+    @Test
+    void segmentsBelowTheCheckpointAreDeleted() throws Exception {
+        TransactionJournalService journal = start();
+        for (int i = 0; i < 3; i++) {
+            journal.append(user, transaction("Taxi " + i));
+        }
+        // One segment per group, plus the active one
+        assertEquals(4, segments().size());
+
+        journal.shutdown();
+        assertEquals(3L, checkpoint());
+        List<Path> remaining = segments();
+        assertEquals(1, remaining.size());
+        assertTrue(remaining.get(0).getFileName().toString().contains("00000000000000000004"));
+    }
+
+    private TransactionJournalService start() {
+        return beanFactory.createBean(TransactionJournalService.class);
+    }
+
+    /**
+     * Stops the writer and flusher without flushing, as a killed process would.
+     */
+    private static void crash(TransactionJournalService journal) throws Exception {
+        ReflectionTestUtils.setField(journal, "running", false);
+        ((Thread) ReflectionTestUtils.getField(journal, "writerThread")).join();
+        ((ExecutorService) ReflectionTestUtils.getField(journal, "flusher")).shutdownNow();
+        ((FileChannel) ReflectionTestUtils.getField(journal, "activeChannel")).close();
+    }
+
+    private static Transaction transaction(String description) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(description);
+        transaction.setAmount(new BigDecimal("12.50"));
+        transaction.setDate(LocalDate.of(2024, 5, 10));
+        transaction.setType(TransactionType.EXPENSE);
+        return transaction;
+    }
+
+    private int storedTransactions() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private Long checkpoint() {
+        return jdbcTemplate.queryForObject("SELECT last_sequence FROM journal_checkpoints", Long.class);
+    }
+
+    private static List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(JOURNAL_DIR))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.config.TransactionRollupBackfill;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.CategorySummary;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TransactionRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The startup backfill of rollups for transactions written before rollups existed.
+ */
+@SpringBootTest(classes = BudgetwiseApplication.class)
+@ActiveProfiles("h2")
+class TransactionRollupBackfillTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2023, 11);
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fillsRollupsOfUsersWithHistoryButNoRollupsOnce() {
+        User user = user();
+        insertRaw(user, "40.00", 3);
+        insertRaw(user, "2.50", 20);
+        assertTrue(transactionRollupService.getMonthlySummary(user, PERIOD).isEmpty());
+
+        backfill();
+        List<CategorySummary> summary = transactionRollupService.getMonthlySummary(user, PERIOD);
+        assertEquals(1, summary.size());
+        assertEquals(0, new BigDecimal("42.50").compareTo(summary.get(0).getTotal()));
+        assertEquals(2, summary.get(0).getCount());
+
+        // A user who has rollups is left alone, so the backfill never counts a transaction twice
+        insertRaw(user, "1.00", 21);
+        backfill();
+        assertEquals(2, transactionRollupService.getMonthlySummary(user, PERIOD).get(0).getCount());
+    }
+
+    private void backfill() {
+        beanFactory.createBean(TransactionRollupBackfill.class).afterSingletonsInstantiated();
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("Backfill");
+        user.setEmail("backfill-" + System.nanoTime() + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+
+    private void insertRaw(User user, String amount, int day) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, description, amount, date, type) VALUES (?, ?, ?, ?, 'EXPENSE')",
+                user.getId(), "Before rollups", new BigDecimal(amount), Date.valueOf(LocalDate.of(2023, 11, day)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.payload.SearchHit;
+import com.infosys.budgetwise.payload.TransactionSearchResult;
+import com.infosys.budgetwise.service.TransactionSearchService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests of the per-user index behind {@link TransactionSearchService}.
+ */
+class TransactionSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Test
+    void tokenizesCaseAndAccentInsensitivelyOnWordBoundaries() {
+        assertEquals(List.of("cafe", "bar", "12", "netflix", "com"),
+                TransactionSearchService.tokenize("Café-Bar #12, NETFLIX.com"));
+        assertTrue(TransactionSearchService.tokenize("  -- ").isEmpty());
+        assertTrue(TransactionSearchService.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void everyQueryTokenMustMatchWholeOrAsAPrefix() {
+        TransactionSearchService.UserIndex index = new TransactionSearchService.UserIndex();
+        index.put(1, DAY, "Netflix subscription", "Entertainment");
+        index.put(2, DAY, "Netflix gift card", "Gifts");
+        index.put(3, DAY, "Spotify subscription", "Entertainment");
+
+        assertEquals(List.of(1L), ids(search(index, "netflix sub")));
+        assertEquals(2, search(index, "ne").getTotal());
+        assertEquals(2, search(index, "SUBSCRIPTION").getTotal());
+        // A single character only matches a whole token
+        assertEquals(0, search(index, "n").getTotal());
+        assertEquals(0, search(index, "netflix music").getTotal());
+    }
+
+    @Test
+    void categoryMatchesAndExactTokensRankFirst() {
+        TransactionSearchService.UserIndex index = new TransactionSearchService.UserIndex();
+        index.put(1, DAY, "Court lunch", "Food");
+        index.put(2, DAY, "Food court lunch", "Dining");
+        assertEquals(List.of(1L, 2L), ids(search(index, "food")));
+
+        index.put(3, DAY, "Taxis to the airport", "Travel");
+        index.put(4, DAY, "Taxi", "Travel");
+        assertEquals(List.of(4L, 3L), ids(search(index, "taxi")));
+    }
+
+    @Test
+    void equalScoresGoToTheNewestFirst() {
+        TransactionSearchService.UserIndex index = new TransactionSearchService.UserIndex();
+        index.put(1, DAY.minusDays(2), "Coffee", null);
+        index.put(2, DAY, "Coffee", null);
+        index.put(3, DAY.minusDays(1), "Coffee", null);
+        assertEquals(List.of(2L, 3L, 1L), ids(search(index, "coffee")));
+        assertEquals(List.of(2L), ids(search(index, "coffee", 1)));
+        assertEquals(3, search(index, "coffee", 1).getTotal());
+    }
+
+    @Test
+    void putReplacesAndRemoveHidesADocument() {
+        TransactionSearchService.UserIndex index = new TransactionSearchService.UserIndex();
+        index.put(1, DAY, "Coffee", "Food");
+        index.put(2, DAY, "Coffee beans", "Groceries");
+
+        index.put(1, DAY, "Green tea", "Food");
+        assertEquals(List.of(2L), ids(search(index, "coffee")));
+        assertEquals(List.of(1L), ids(search(index, "tea")));
+
+        index.remove(1);
+        assertEquals(0, search(index, "tea").getTotal());
+        assertEquals(1, index.documentCount());
+        // Removing an unknown id is a no-op
+        index.remove(42);
+        assertEquals(List.of(2L), ids(search(index, "coffee")));
+    }
+
+    @Test
+    void compactionDropsDeletedDocumentsAndTheirTerms() {
+        TransactionSearchService.UserIndex index = new TransactionSearchService.UserIndex();
+        for (int i = 0; i < 2000; i++) {
+            index.put(i, DAY.plusDays(i % 30), "Shop order " + i, "Retail");
+        }
+        for (int i = 0; i < 1500; i++) {
+            index.remove(i);
+        }
+
+        assertEquals(500, index.documentCount());
+        // Terms only the compacted documents had are gone; postings of the others were remapped
+        assertFalse(index.hasTerm("5"));
+        assertTrue(index.hasTerm("1999"));
+        assertEquals(500, search(index, "shop").getTotal());
+        assertEquals(List.of(1999L), ids(search(index, "order 1999")));
+        assertEquals(0, search(index, "order 1000").getTotal());
+
+        index.put(1999, DAY, "Refund", "Retail");
+        assertEquals(499, search(index, "shop").getTotal());
+        assertEquals(List.of(1999L), ids(search(index, "refund")));
+    }
+
+    private static TransactionSearchResult search(TransactionSearchService.UserIndex index, String query) {
+        return search(index, query, 100);
+    }
+
+    private static TransactionSearchResult search(TransactionSearchService.UserIndex index, String query, int limit) {
+        TransactionSearchResult result = new TransactionSearchResult();
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TransactionSearchService.tokenize(query)));
+        index.search(tokens, limit, 256, result);
+        return result;
+    }
+
+    private static List<Long> ids(TransactionSearchResult result) {
+        return result.getHits().stream().map(SearchHit::getId).toList();
+    }
+}
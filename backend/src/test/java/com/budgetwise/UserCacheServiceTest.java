@@ -0,0 +1,130 @@
+package com.budgetwise;
+
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.UserCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The user cache in front of the repository: stale loads racing an invalidation, TTL expiry and LRU eviction.
+ */
+class UserCacheServiceTest {
+
+    private UserRepository userRepository;
+    private UserCacheService userCacheService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenAnswer(call -> Optional.of(user(call.getArgument(0), "v1")));
+        when(userRepository.findByEmail(anyString())).thenAnswer(call -> {
+            String email = call.getArgument(0);
+            return Optional.of(user(Long.parseLong(email.substring(5, email.indexOf('@'))), "v1"));
+        });
+        userCacheService = cache(10, 60_000);
+    }
+
+    @Test
+    void aLoadThatReadBeforeAnInvalidationIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        when(userRepository.findById(1L)).thenAnswer(call -> {
+            User stale = user(1L, "before");
+            loading.countDown();
+            invalidated.await(5, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        }).thenAnswer(call -> Optional.of(user(1L, "after")));
+
+        CompletableFuture<Optional<User>> load = CompletableFuture.supplyAsync(() -> userCacheService.findById(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        userCacheService.invalidate(1L);
+        invalidated.countDown();
+
+        // The racing lookup still answers with what it read, but the copy from before the change is not kept
+        assertEquals("before", load.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+        assertEquals("after", userCacheService.findById(1L).orElseThrow().getName());
+        assertEquals("after", userCacheService.findById(1L).orElseThrow().getName());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void aLoadAfterTheInvalidationIsCachedAgain() {
+        userCacheService.findById(1L);
+        userCacheService.invalidate(1L);
+        userCacheService.findById(1L);
+        userCacheService.findById(1L);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void freshEntriesAreServedFromTheCacheByIdAndByEmail() {
+        userCacheService.findById(1L);
+        assertEquals(1L, userCacheService.findById(1L).orElseThrow().getId());
+        assertEquals(1L, userCacheService.findByEmail("user-1@example.com").orElseThrow().getId());
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(0)).findByEmail(anyString());
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() {
+        UserCacheService expiring = cache(10, -1);
+        expiring.findById(1L);
+        expiring.findById(1L);
+        expiring.findByEmail("user-1@example.com");
+        verify(userRepository, times(2)).findById(1L);
+        verify(userRepository, times(1)).findByEmail("user-1@example.com");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedUserWithItsEmail() {
+        UserCacheService small = cache(2, 60_000);
+        small.findById(1L);
+        small.findById(2L);
+        // Using user 1 makes user 2 the eldest
+        small.findById(1L);
+        small.findById(3L);
+
+        small.findById(1L);
+        small.findById(3L);
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findById(3L);
+
+        small.findByEmail("user-2@example.com");
+        verify(userRepository, times(1)).findByEmail("user-2@example.com");
+        assertEquals(2, small.getStats().get("size"));
+    }
+
+    private UserCacheService cache(int maxSize, long ttl) {
+        UserCacheService cache = new UserCacheService();
+        ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttl", ttl);
+        return cache;
+    }
+
+    private static User user(long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail("user-" + id + "@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        return user;
+    }
+}
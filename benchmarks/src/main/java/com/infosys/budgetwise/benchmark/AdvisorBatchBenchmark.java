@@ -0,0 +1,111 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.model.AdvisorBatchRun;
+import com.infosys.budgetwise.service.AdvisorBatchService;
+import com.infosys.budgetwise.util.JsonColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for one full advisor batch run over {@code users} users, each with a budget and eight category rollups this
+ * month, against an in-memory database. Users per second is {@code users} divided by the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AdvisorBatchBenchmark {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    @Param({"100000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private AdvisorBatchService advisorBatchService;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.startApplication();
+        advisorBatchService = context.getBean(AdvisorBatchService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AdvisorBatchRun run() {
+        AdvisorBatchRun run = advisorBatchService.run().orElseThrow();
+        if (run.getStatus() != AdvisorBatchRun.Status.COMPLETED || run.getUsersProcessed() != users) {
+            throw new IllegalStateException("Run ended " + run.getStatus() + " after " + run.getUsersProcessed() + " users");
+        }
+        return run;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        String period = YearMonth.now().toString();
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"Advisor " + i, "advisor-" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, role) VALUES (?, ?, 'unused', 'USER')", userRows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                });
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'advisor-%' ORDER BY id", Long.class);
+
+        StringBuilder plan = new StringBuilder("{");
+        for (String category : Fixtures.CATEGORIES) {
+            plan.append(plan.length() > 1 ? "," : "").append('"').append(category).append("\":400.00");
+        }
+        String planJson = plan.append('}').toString();
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (user_id, period, monthly_income, saving_goal, target_expenses, category_expenses) "
+                        + "VALUES (?, ?, 5000.00, 1000.00, 3200.00, " + JsonColumns.placeholder(jdbcTemplate) + ")",
+                userIds, BATCH_SIZE, (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setString(2, period);
+                    ps.setString(3, planJson);
+                });
+
+        List<Object[]> rollups = new ArrayList<>(userIds.size() * (Fixtures.CATEGORIES.length + 1));
+        for (Long userId : userIds) {
+            rollups.add(new Object[]{userId, "Salary", "INCOME", new BigDecimal("5000.00"), 1L});
+            for (int c = 0; c < Fixtures.CATEGORIES.length; c++) {
+                rollups.add(new Object[]{userId, Fixtures.CATEGORIES[c], "EXPENSE", BigDecimal.valueOf(10_000 + 2_500L * c, 2), 12L});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transaction_rollups (user_id, period, category, type, total, transaction_count) VALUES (?, ?, ?, ?, ?, ?)",
+                rollups, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setString(2, period);
+                    ps.setString(3, (String) row[1]);
+                    ps.setString(4, (String) row[2]);
+                    ps.setBigDecimal(5, (BigDecimal) row[3]);
+                    ps.setLong(6, (Long) row[4]);
+                });
+    }
+}
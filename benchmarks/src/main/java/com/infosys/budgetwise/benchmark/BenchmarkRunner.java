@@ -0,0 +1,36 @@
+package com.infosys.budgetwise.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH suites and, unless told otherwise, writes the results as JSON to {@code jmh-result.json}
+ * so they can be archived per release and diffed.
+ * <pre>
+ * (cd backend &amp;&amp; ./mvnw install -DskipTests)
+ * (cd benchmarks &amp;&amp; mvn package)
+ * java -jar benchmarks/target/benchmarks.jar                 # every suite
+ * java -jar benchmarks/target/benchmarks.jar JwtBenchmark    # one suite; any JMH option is accepted
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result("jmh-result.json");
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.model.Budget;
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.BudgetVsActual;
+import com.infosys.budgetwise.repository.BudgetRepository;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.BudgetAnalysisService;
+import com.infosys.budgetwise.service.CategoryDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the budget-vs-actual comparison for a user-month holding 1k and 100k transactions, one budget query and
+ * one aggregate over the month against an in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetAnalysisBenchmark {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 3);
+
+    @Param({"1000", "100000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private BudgetAnalysisService budgetAnalysisService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.startApplication();
+        budgetAnalysisService = context.getBean(BudgetAnalysisService.class);
+
+        User owner = new User();
+        owner.setName("Analysis Benchmark");
+        owner.setEmail("analysis-benchmark@example.com");
+        owner.setPassword("unused");
+        owner.setRole("USER");
+        user = context.getBean(UserRepository.class).save(owner);
+
+        Map<String, BigDecimal> planned = new HashMap<>();
+        for (String category : Fixtures.CATEGORIES) {
+            planned.put(category, BigDecimal.valueOf(1000));
+        }
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setPeriod(PERIOD);
+        budget.setMonthlyIncome(Money.ofCents(1_000_000));
+        budget.setSavingGoal(Money.ofCents(200_000));
+        budget.setTargetExpenses(Money.ofCents(800_000));
+        budget.setCategoryExpenses(planned);
+        context.getBean(BudgetRepository.class).save(budget);
+
+        CategoryDictionary categoryDictionary = context.getBean(CategoryDictionary.class);
+        List<Object[]> rows = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            rows.add(new Object[]{user.getId(), "Purchase " + i, BigDecimal.valueOf(1 + i % 90, 0),
+                    categoryDictionary.idFor(Fixtures.CATEGORIES[i % Fixtures.CATEGORIES.length]),
+                    Date.valueOf(PERIOD.atDay(1 + i % 28)), "EXPENSE"});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO transactions (user_id, description, amount, category_id, date, type) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        int categories = compare().getCategories().size();
+        if (categories != Fixtures.CATEGORIES.length) {
+            throw new IllegalStateException("Expected " + Fixtures.CATEGORIES.length + " categories, got " + categories);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BudgetVsActual compare() {
+        return budgetAnalysisService.compare(user, PERIOD).orElseThrow();
+    }
+}
@@ -0,0 +1,46 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.payload.BudgetRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The category-map conversion done by BudgetController.createOrUpdateBudget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryConversionBenchmark {
+
+    @Param({"8", "50"})
+    public int categories;
+
+    private BudgetRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new BudgetRequest();
+        request.setCategoryExpenses(Fixtures.categoryRequest(categories));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> toCategoryExpenses() {
+        return request.toCategoryExpenses();
+    }
+}
@@ -0,0 +1,88 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.model.CategoryRule;
+import com.infosys.budgetwise.util.CategoryClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categorizations per second of the compiled rule matcher applied at ingest, and the cost of compiling it.
+ * About half of the descriptions match one of the rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryRuleBenchmark {
+
+    private static final int DESCRIPTIONS = 1024;
+
+    @Param({"100", "1000", "5000"})
+    public int rules;
+
+    private List<CategoryRule> ruleList;
+    private CategoryClassifier classifier;
+    private String[] descriptions;
+    private BigDecimal[] amounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ruleList = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            CategoryRule rule = new CategoryRule();
+            rule.setId((long) i);
+            // Mostly keywords, some merchant prefixes and a few amount ranges
+            if (i % 50 == 0) {
+                rule.setMatchType(CategoryRule.MatchType.AMOUNT);
+                rule.setMinAmount(BigDecimal.valueOf(i));
+                rule.setMaxAmount(BigDecimal.valueOf(i + 10));
+            } else {
+                rule.setMatchType(i % 10 == 0 ? CategoryRule.MatchType.PREFIX : CategoryRule.MatchType.KEYWORD);
+                rule.setPattern(i % 3 == 0 ? "merchant" + i + " store" : "merchant" + i);
+            }
+            rule.setCategory(Fixtures.CATEGORIES[i % Fixtures.CATEGORIES.length]);
+            rule.setPriority(i % 5);
+            ruleList.add(rule);
+        }
+        classifier = new CategoryClassifier(ruleList);
+
+        descriptions = new String[DESCRIPTIONS];
+        amounts = new BigDecimal[DESCRIPTIONS];
+        for (int i = 0; i < DESCRIPTIONS; i++) {
+            descriptions[i] = "POS PURCHASE MERCHANT" + random.nextInt(rules * 2) + " STORE #" + random.nextInt(1000) + " LONDON GB";
+            amounts[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+        }
+    }
+
+    @Benchmark
+    public String classify() {
+        int i = next++ & (DESCRIPTIONS - 1);
+        return classifier.classify(descriptions[i], amounts[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CategoryClassifier compile() {
+        return new CategoryClassifier(ruleList);
+    }
+}
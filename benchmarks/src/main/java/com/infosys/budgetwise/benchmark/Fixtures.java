@@ -0,0 +1,122 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.model.Budget;
+import com.infosys.budgetwise.model.Money;
+import com.infosys.budgetwise.model.Transaction;
+import com.infosys.budgetwise.model.TransactionType;
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.util.JwtUtil;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic test data shared by the suites.
+ */
+final class Fixtures {
+
+    static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Utilities", "Shopping", "Health", "Education", "Fun"};
+
+    // Same secret and lifetime as application.properties
+    private static final String SECRET = "myVeryLongSecretKeyForJWTTokenGenerationThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements123456789";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secret", SECRET);
+        setField(jwtUtil, "expiration", EXPIRATION);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * The backend on a random port over an empty in-memory database, for the suites that measure a service end to end.
+     * The scheduled advisor batch is off so it never runs inside a measurement.
+     */
+    static ConfigurableApplicationContext startApplication() {
+        return new SpringApplication(BudgetwiseApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--advisor.batch.enabled=false");
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        user.setRole("USER");
+        return user;
+    }
+
+    static List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setDescription("Purchase " + i);
+            transaction.setAmount(BigDecimal.valueOf(1000 + i % 5000, 2));
+            transaction.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            transaction.setDate(start.plusDays(i % 365));
+            transaction.setType(i % 10 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    static List<Budget> budgets(int count) {
+        List<Budget> budgets = new ArrayList<>(count);
+        YearMonth start = YearMonth.of(2020, 1);
+        for (int i = 0; i < count; i++) {
+            Budget budget = new Budget();
+            budget.setId((long) i);
+            budget.setPeriod(start.plusMonths(i));
+            budget.setMonthlyIncome(Money.ofCents(500_000));
+            budget.setSavingGoal(Money.ofCents(100_000));
+            budget.setTargetExpenses(Money.ofCents(400_000));
+            Map<String, BigDecimal> categoryExpenses = new HashMap<>();
+            for (String category : CATEGORIES) {
+                categoryExpenses.put(category, BigDecimal.valueOf(50_000, 2));
+            }
+            budget.setCategoryExpenses(categoryExpenses);
+            budgets.add(budget);
+        }
+        return budgets;
+    }
+
+    static Map<String, Double> categoryRequest(int categories) {
+        Map<String, Double> request = new HashMap<>();
+        for (int i = 0; i < categories; i++) {
+            // Every fifth category is left empty, as the form sends them
+            request.put("Category " + i, i % 5 == 0 ? 0.0 : 125.5 + i);
+        }
+        return request;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
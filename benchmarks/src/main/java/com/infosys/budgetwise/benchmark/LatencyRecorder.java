@@ -0,0 +1,69 @@
+package com.infosys.budgetwise.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects raw per-request latencies by endpoint and reduces them to throughput and percentiles.
+ * Every sample is kept, which is fine for runs of a few million requests.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        samplesByEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, success);
+    }
+
+    Map<String, Map<String, Object>> summarize(double seconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        samplesByEndpoint.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> summary.put(entry.getKey(), entry.getValue().summarize(seconds)));
+        return summary;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", count);
+            result.put("errors", errors);
+            result.put("throughputPerSec", round(count / seconds));
+            result.put("p50Ms", millis(sorted, 0.50));
+            result.put("p99Ms", millis(sorted, 0.99));
+            result.put("p999Ms", millis(sorted, 0.999));
+            result.put("maxMs", count == 0 ? 0.0 : round(sorted[count - 1] / 1_000_000.0));
+            return result;
+        }
+
+        private static double millis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return round(sorted[Math.max(0, index)] / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
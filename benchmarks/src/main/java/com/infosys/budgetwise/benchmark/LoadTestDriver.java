@@ -0,0 +1,249 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.infosys.budgetwise.BudgetwiseApplication;
+import com.infosys.budgetwise.config.LoadTestDataSeeder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test that needs nothing but this machine.
+ * <p>
+ * Boots the backend with the {@code loadtest} profile (embedded H2, seeded users, budgets and transactions) on a random
+ * port, logs every seeded user in, then drives a weighted mix of endpoints from concurrent clients with valid JWTs.
+ * Throughput and p50/p99/p999 latency per endpoint are printed and written to {@code loadtest-result.json}.
+ * <p>
+ * {@code --threads=platform|virtual|both} selects the serving mode; {@code both} runs the same load against a
+ * platform-thread server and then a virtual-thread server so the two can be compared.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.infosys.budgetwise.benchmark.LoadTestDriver \
+ *     --users=200 --transactions=500 --concurrency=64 --warmup=10 --duration=60 --threads=both
+ * </pre>
+ */
+public class LoadTestDriver {
+
+    private static final String TRANSACTION_BODY =
+            "{\"description\":\"Load test\",\"amount\":12.50,\"category\":\"Food\",\"date\":\"%s\",\"type\":\"EXPENSE\"}";
+
+    private final Map<String, String> options;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private String baseUrl;
+    private String password;
+
+    LoadTestDriver(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadTestDriver(options).run();
+    }
+
+    void run() throws Exception {
+        int users = intOption("users", 200);
+        int concurrency = intOption("concurrency", 64);
+        int durationSeconds = intOption("duration", 60);
+        password = options.getOrDefault("password", "loadtest-password");
+
+        String threads = options.getOrDefault("threads", "platform");
+        Map<String, Map<String, Map<String, Object>>> modes = new LinkedHashMap<>();
+        if (!threads.equals("virtual")) {
+            modes.put("platform", runScenario(false, users, concurrency, durationSeconds));
+        }
+        if (!threads.equals("platform")) {
+            modes.put("virtual", runScenario(true, users, concurrency, durationSeconds));
+        }
+        report(modes, users, concurrency, durationSeconds);
+    }
+
+    private Map<String, Map<String, Object>> runScenario(boolean virtualThreads, int users, int concurrency,
+                                                         int durationSeconds) throws Exception {
+        int warmupSeconds = intOption("warmup", 10);
+        ConfigurableApplicationContext context = startApplication(users, virtualThreads);
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<String> tokens = loginAll(users, concurrency);
+            String mode = virtualThreads ? "virtual" : "platform";
+
+            System.out.printf("[%s threads] Warming up for %d s with %d clients...%n", mode, warmupSeconds, concurrency);
+            drive(tokens, users, concurrency, warmupSeconds, new LatencyRecorder());
+
+            System.out.printf("[%s threads] Measuring for %d s with %d clients...%n", mode, durationSeconds, concurrency);
+            LatencyRecorder recorder = new LatencyRecorder();
+            drive(tokens, users, concurrency, durationSeconds, recorder);
+            return recorder.summarize(durationSeconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(int users, boolean virtualThreads) {
+        SpringApplication application = new SpringApplication(BudgetwiseApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        args.add("--loadtest.users=" + users);
+        args.add("--loadtest.transactions-per-user=" + intOption("transactions", 500));
+        args.add("--loadtest.budget-months=" + intOption("budget-months", 12));
+        args.add("--loadtest.password=" + options.getOrDefault("password", "loadtest-password"));
+        return application.run(args.toArray(new String[0]));
+    }
+
+    private List<String> loginAll(int users, int concurrency) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<String>> futures = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                String email = String.format(LoadTestDataSeeder.EMAIL_PATTERN, i);
+                futures.add(executor.submit(() -> login(email)));
+            }
+            List<String> tokens = new ArrayList<>(users);
+            for (Future<String> future : futures) {
+                tokens.add(future.get());
+            }
+            return tokens;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode() + " " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    private void drive(List<String> tokens, int users, int concurrency, int seconds, LatencyRecorder recorder) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int user = ThreadLocalRandom.current().nextInt(users);
+                        callRandomEndpoint(user, tokens.get(user), recorder);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Weighted mix: mostly reads, some transaction writes and a few logins (which are BCrypt-bound).
+     */
+    private void callRandomEndpoint(int user, String token, LatencyRecorder recorder) throws Exception {
+        int pick = ThreadLocalRandom.current().nextInt(100);
+        if (pick < 20) {
+            timed("GET /api/budgets", recorder, get("/api/budgets", token));
+        } else if (pick < 40) {
+            timed("GET /api/transactions", recorder, get("/api/transactions", token));
+        } else if (pick < 55) {
+            timed("GET /api/transactions/summary", recorder, get("/api/transactions/summary", token));
+        } else if (pick < 70) {
+            timed("GET /api/transactions/page", recorder, get("/api/transactions/page?size=50", token));
+        } else if (pick < 80) {
+            timed("GET /api/budgets/vs-actual", recorder, get("/api/budgets/vs-actual", token));
+        } else if (pick < 95) {
+            timed("POST /api/transactions", recorder, HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(TRANSACTION_BODY, LocalDate.now())))
+                    .build());
+        } else {
+            String email = String.format(LoadTestDataSeeder.EMAIL_PATTERN, user);
+            timed("POST /api/auth/login", recorder, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                    .build());
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private void timed(String endpoint, LatencyRecorder recorder, HttpRequest request) {
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<String> response = send(request);
+            success = response.statusCode() < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        recorder.record(endpoint, System.nanoTime() - started, success);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(Map<String, Map<String, Map<String, Object>>> modes, int users, int concurrency, int seconds) throws Exception {
+        System.out.printf("%n%-9s %-32s %10s %8s %12s %10s %10s %10s%n",
+                "threads", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        modes.forEach((mode, summary) -> summary.forEach((endpoint, stats) ->
+                System.out.printf("%-9s %-32s %10s %8s %12s %10s %10s %10s%n",
+                        mode, endpoint, stats.get("requests"), stats.get("errors"), stats.get("throughputPerSec"),
+                        stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"))));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", users);
+        result.put("transactionsPerUser", intOption("transactions", 500));
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", seconds);
+        result.put("modes", modes);
+        File output = new File(options.getOrDefault("output", "loadtest-result.json"));
+        objectMapper.writeValue(output, result);
+        System.out.println("\nResults written to " + output.getAbsolutePath());
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,94 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.model.User;
+import com.infosys.budgetwise.payload.ImportResult;
+import com.infosys.budgetwise.repository.UserRepository;
+import com.infosys.budgetwise.service.TransactionImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to import a CSV bank export through the JDBC batch path, rollups included, against an in-memory database.
+ * Rows per second is {@code rows} divided by the score. Every import goes to an empty user, so the table does not grow
+ * from one measurement to the next.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransactionImportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionImportService transactionImportService;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = Fixtures.startApplication();
+        transactionImportService = context.getBean(TransactionImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        User importer = new User();
+        importer.setName("Import Benchmark");
+        importer.setEmail("import-benchmark@example.com");
+        importer.setPassword("unused");
+        importer.setRole("USER");
+        user = context.getBean(UserRepository.class).save(importer);
+
+        StringBuilder csv = new StringBuilder("date,description,amount,category,type\n");
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            csv.append(start.plusDays(i % 1500)).append(",Purchase ").append(i).append(',')
+                    .append(10 + i % 500).append(".25,").append(Fixtures.CATEGORIES[i % Fixtures.CATEGORIES.length])
+                    .append(i % 10 == 0 ? ",INCOME\n" : ",EXPENSE\n");
+        }
+        body = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM transaction_rollups WHERE user_id = ?", user.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult importCsv() throws IOException {
+        ImportResult result = transactionImportService.importTransactions(user, new ByteArrayInputStream(body),
+                TransactionImportService.Format.CSV);
+        if (result.isAborted() || result.getAccepted() != rows) {
+            throw new IllegalStateException("Imported " + result.getAccepted() + " of " + rows + " rows: " + result.getAbortReason());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.infosys.budgetwise.benchmark;
+
+import com.infosys.budgetwise.config.YearMonthAttributeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YearMonthConverterBenchmark {
+
+    private final YearMonthAttributeConverter converter = new YearMonthAttributeConverter();
+    private final YearMonth period = YearMonth.of(2024, 7);
+    private final String column = "2024-07";
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(period);
+    }
+
+    @Benchmark
+    public YearMonth toEntityAttribute() {
+        return converter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public YearMonth roundTrip() {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(period));
+    }
+}